@@ -0,0 +1,61 @@
+package ru.practicum.shareit;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.ReactorNettyHttpClientMapper;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorResourceFactory;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Reactive gateway mode, enabled with {@code spring.main.web-application-type=reactive}. Requests are served by
+ * Netty rather than Tomcat, which is also on the classpath for the servlet mode, and the clients share one
+ * connection pool sized for many slow calls to the server at once: Reactor Netty's default pool allows only a
+ * few dozen connections. Requests waiting for a connection are bounded in number and time, and the
+ * {@code shareit-server.*} timeouts of the servlet mode apply to the calls themselves.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGatewayConfiguration {
+
+    @Bean
+    public ReactorResourceFactory reactorResourceFactory(
+            @Value("${shareit-server.max-connections}") int maxConnections,
+            @Value("${shareit-server.max-pending-acquires:1000}") int maxPendingAcquires,
+            @Value("${shareit-server.pool-timeout:5s}") Duration poolTimeout) {
+        ReactorResourceFactory factory = new ReactorResourceFactory();
+        factory.setUseGlobalResources(false);
+        factory.setConnectionProviderSupplier(() -> ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPendingAcquires)
+                .pendingAcquireTimeout(poolTimeout)
+                .metrics(true)
+                .build());
+        return factory;
+    }
+
+    /**
+     * Applied by Spring Boot to the {@code HttpClient} it creates on the pool of {@link #reactorResourceFactory}
+     * for every {@code WebClient.Builder}.
+     */
+    @Bean
+    public ReactorNettyHttpClientMapper shareItServerTimeouts(
+            @Value("${shareit-server.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.read-timeout:30s}") Duration readTimeout) {
+        return httpClient -> httpClient
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+    }
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(ReactorResourceFactory resourceFactory) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.setResourceFactory(resourceFactory);
+        return factory;
+    }
+}
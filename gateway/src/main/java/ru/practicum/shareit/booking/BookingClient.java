@@ -2,46 +2,63 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 
 import java.util.Map;
+import java.util.Objects;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory,
+                         ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                responseCache
         );
     }
 
-    public ResponseEntity<Object> getUserBookings(long userId, String state, int from, int size) {
+    public ResponseEntity<Object> getUserBookings(long userId, String state, int from, int size, String cursor) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
-                "size", size
+                "size", size,
+                "cursor", Objects.requireNonNullElse(cursor, "")
         );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        return get("?state={state}&from={from}&size={size}&cursor={cursor}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(long userId, String state, int from, int size) {
+    public ResponseEntity<Object> getOwnerBookings(long userId, String state, int from, int size, String cursor) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
-                "size", size
+                "size", size,
+                "cursor", Objects.requireNonNullElse(cursor, "")
         );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        return get("/owner?state={state}&from={from}&size={size}&cursor={cursor}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getUserBookingCounts(long userId) {
+        return get("/counts", userId);
+    }
+
+    public ResponseEntity<Object> getOwnerBookingCounts(long userId) {
+        return get("/owner/counts", userId);
     }
 
     public ResponseEntity<Object> getBookingByUserOwner(long userId, long bookingId) {
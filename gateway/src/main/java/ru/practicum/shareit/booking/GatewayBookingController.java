@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -24,6 +25,7 @@ import javax.validation.constraints.Min;
 import static ru.practicum.shareit.util.Constants.REQUEST_HEADER_USER_ID;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Validated
@@ -43,8 +45,9 @@ public class GatewayBookingController {
                                                        message = "Unknown state: UNSUPPORTED_STATUS")
                                                @RequestParam(defaultValue = "all") String state,
                                                @RequestParam(defaultValue = "0") @Min(0) @Max(Integer.MAX_VALUE) int from,
-                                               @RequestParam(defaultValue = "20") @Min(1) @Max(20) int size) {
-        return client.getUserBookings(userId, state, from, size);
+                                               @RequestParam(defaultValue = "20") @Min(1) @Max(20) int size,
+                                               @RequestParam(required = false) String cursor) {
+        return client.getUserBookings(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
@@ -59,8 +62,19 @@ public class GatewayBookingController {
                                                         message = "Unknown state: UNSUPPORTED_STATUS")
                                                 @RequestParam(defaultValue = "all") String state,
                                                 @RequestParam(defaultValue = "0") @Min(0) int from,
-                                                @RequestParam(defaultValue = "20") @Min(1) @Max(20) int size) {
-        return client.getOwnerBookings(userId, state, from, size);
+                                                @RequestParam(defaultValue = "20") @Min(1) @Max(20) int size,
+                                                @RequestParam(required = false) String cursor) {
+        return client.getOwnerBookings(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/counts")
+    public ResponseEntity<Object> getUserBookingCounts(@RequestHeader(REQUEST_HEADER_USER_ID) long userId) {
+        return client.getUserBookingCounts(userId);
+    }
+
+    @GetMapping("/owner/counts")
+    public ResponseEntity<Object> getOwnerBookingCounts(@RequestHeader(REQUEST_HEADER_USER_ID) long userId) {
+        return client.getOwnerBookingCounts(userId);
     }
 
     @GetMapping("/{bookingId}")
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ResponseCache responseCache) {
+        super(
+                builder.build(),
+                new DefaultUriBuilderFactory(serverUrl + API_PREFIX),
+                responseCache
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getUserBookings(long userId, String state, int from, int size, String cursor) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "from", from,
+                "size", size,
+                "cursor", Objects.requireNonNullElse(cursor, "")
+        );
+        return get("?state={state}&from={from}&size={size}&cursor={cursor}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getOwnerBookings(long userId, String state, int from, int size, String cursor) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "from", from,
+                "size", size,
+                "cursor", Objects.requireNonNullElse(cursor, "")
+        );
+        return get("/owner?state={state}&from={from}&size={size}&cursor={cursor}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getUserBookingCounts(long userId) {
+        return get("/counts", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getOwnerBookingCounts(long userId) {
+        return get("/owner/counts", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingByUserOwner(long userId, long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> create(long userId, CreateBookingDto createBookingDto) {
+        return post("", userId, createBookingDto);
+    }
+
+    public Mono<ResponseEntity<Object>> approveBooking(long userId, long bookingId, Boolean approved) {
+        return patch(String.format("/%s?approved=%s", bookingId, approved), userId);
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.marker.ToLog;
+import ru.practicum.shareit.validator.StartBeforeEndDateValid;
+import ru.practicum.shareit.validator.ValuesAllowedConstraint;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import static ru.practicum.shareit.util.Constants.REQUEST_HEADER_USER_ID;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Validated
+@ToLog
+public class ReactiveGatewayBookingController {
+    private final ReactiveBookingClient client;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getUserBookings(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                     @ValuesAllowedConstraint(propName = "state",
+                                                             values = {"all",
+                                                                     "current",
+                                                                     "past",
+                                                                     "future",
+                                                                     "waiting",
+                                                                     "rejected"},
+                                                             message = "Unknown state: UNSUPPORTED_STATUS")
+                                                     @RequestParam(defaultValue = "all") String state,
+                                                     @RequestParam(defaultValue = "0") @Min(0) @Max(Integer.MAX_VALUE) int from,
+                                                     @RequestParam(defaultValue = "20") @Min(1) @Max(20) int size,
+                                                     @RequestParam(required = false) String cursor) {
+        return client.getUserBookings(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Object>> getOwnerBookings(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                      @ValuesAllowedConstraint(propName = "state",
+                                                              values = {"all",
+                                                                      "current",
+                                                                      "past",
+                                                                      "future",
+                                                                      "waiting",
+                                                                      "rejected"},
+                                                              message = "Unknown state: UNSUPPORTED_STATUS")
+                                                      @RequestParam(defaultValue = "all") String state,
+                                                      @RequestParam(defaultValue = "0") @Min(0) int from,
+                                                      @RequestParam(defaultValue = "20") @Min(1) @Max(20) int size,
+                                                      @RequestParam(required = false) String cursor) {
+        return client.getOwnerBookings(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/counts")
+    public Mono<ResponseEntity<Object>> getUserBookingCounts(@RequestHeader(REQUEST_HEADER_USER_ID) long userId) {
+        return client.getUserBookingCounts(userId);
+    }
+
+    @GetMapping("/owner/counts")
+    public Mono<ResponseEntity<Object>> getOwnerBookingCounts(@RequestHeader(REQUEST_HEADER_USER_ID) long userId) {
+        return client.getOwnerBookingCounts(userId);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> getBookingByUserOwner(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                     @PathVariable long bookingId) {
+        return client.getBookingByUserOwner(userId, bookingId);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                      @RequestBody
+                                      @Valid
+                                      @StartBeforeEndDateValid(message = "Дата окончания не может быть раньше или равна дате начала")
+                                      CreateBookingDto createBookingDto) {
+
+        return client.create(userId, createBookingDto);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> approveBooking(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                              @PathVariable long bookingId,
+                                              @RequestParam Boolean approved) {
+        return client.approveBooking(userId, bookingId, approved);
+    }
+}
@@ -1,11 +1,14 @@
 package ru.practicum.shareit.client;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
@@ -15,10 +18,24 @@ import org.springframework.web.client.RestTemplate;
 import static ru.practicum.shareit.util.Constants.REQUEST_HEADER_USER_ID;
 
 public class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            HttpHeaders.CONNECTION,
+            "Keep-Alive",
+            HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.TE,
+            HttpHeaders.TRAILER,
+            HttpHeaders.UPGRADE,
+            HttpHeaders.PROXY_AUTHENTICATE,
+            HttpHeaders.PROXY_AUTHORIZATION,
+            HttpHeaders.CONTENT_LENGTH);
+
     protected final RestTemplate rest;
+    private final ResponseCache responseCache;
+    private final SingleFlight<RequestKey, ResponseEntity<Object>> inFlightGets = new SingleFlight<>();
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest, ResponseCache responseCache) {
         this.rest = rest;
+        this.responseCache = responseCache;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -82,17 +99,49 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
 
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+        if (method == HttpMethod.GET) {
+            return inFlightGets.execute(new RequestKey(uri, userId), () -> send(method, uri, userId, body));
+        }
+
+        return send(method, uri, userId, body);
+    }
+
+    private <T> ResponseEntity<Object> send(HttpMethod method, URI uri, Long userId, @Nullable T body) {
+        HttpHeaders headers = defaultHeaders(userId);
+
+        ResponseCache.CachedResponse cached = method == HttpMethod.GET ? responseCache.get(uri, userId) : null;
+        if (cached != null) {
+            if (cached.isFresh()) {
+                return cached.toResponseEntity();
             }
+            headers.setIfNoneMatch(cached.getEtag());
+        }
+
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
+
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            shareitServerResponse = rest.exchange(uri, method, requestEntity, byte[].class);
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(passThroughHeaders(e.getResponseHeaders()))
+                    .body(e.getResponseBodyAsByteArray());
+        } finally {
+            if (method != HttpMethod.GET) {
+                responseCache.evict(uri);
+            }
+        }
+
+        if (cached != null && shareitServerResponse.getStatusCodeValue() == HttpStatus.NOT_MODIFIED.value()) {
+            return responseCache.revalidate(uri, userId, cached, shareitServerResponse.getHeaders())
+                    .toResponseEntity();
+        }
+        if (method == HttpMethod.GET) {
+            responseCache.put(uri, userId, shareitServerResponse);
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
@@ -107,12 +156,27 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    /**
+     * Bodies are passed on as the bytes the server sent, without parsing them, so the response keeps the server's
+     * headers, except those that only apply to the connection between the gateway and the server.
+     */
+    static HttpHeaders passThroughHeaders(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (HOP_BY_HOP_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                    headers.addAll(name, values);
+                }
+            });
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        return headers;
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(passThroughHeaders(response.getHeaders()));
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.client;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriBuilderFactory;
+import reactor.core.publisher.Mono;
+
+import static ru.practicum.shareit.util.Constants.REQUEST_HEADER_USER_ID;
+
+/**
+ * Non-blocking counterpart of {@link BaseClient}: the same request helpers, sent through a {@link WebClient},
+ * so a proxied request waiting on the server does not hold a thread.
+ */
+public class ReactiveBaseClient {
+    protected final WebClient web;
+    private final UriBuilderFactory uriBuilderFactory;
+    private final ResponseCache responseCache;
+    private final ConcurrentMap<RequestKey, Mono<ResponseEntity<Object>>> inFlightGets = new ConcurrentHashMap<>();
+
+    public ReactiveBaseClient(WebClient web, UriBuilderFactory uriBuilderFactory, ResponseCache responseCache) {
+        this.web = web;
+        this.uriBuilderFactory = uriBuilderFactory;
+        this.responseCache = responseCache;
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
+        return patch(path, null, null, body);
+    }
+
+    protected Mono<ResponseEntity<Object>> patch(String path, long userId) {
+        return patch(path, userId, null, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path) {
+        return delete(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
+        return delete(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        URI uri = parameters != null
+                ? uriBuilderFactory.expand(path, parameters)
+                : uriBuilderFactory.expand(path);
+
+        if (method == HttpMethod.GET) {
+            return inFlightGets.computeIfAbsent(new RequestKey(uri, userId),
+                    key -> shareInFlight(key, () -> send(method, uri, userId, body)));
+        }
+
+        return send(method, uri, userId, body);
+    }
+
+    /**
+     * Concurrent identical GETs subscribe to one shared call. The call is built on subscription, so it reads
+     * the response cache afresh, and the key is released once it completes, fails or all callers cancel.
+     */
+    private Mono<ResponseEntity<Object>> shareInFlight(RequestKey key, Supplier<Mono<ResponseEntity<Object>>> call) {
+        AtomicReference<Mono<ResponseEntity<Object>>> shared = new AtomicReference<>();
+        shared.set(Mono.defer(call)
+                .doFinally(signal -> inFlightGets.remove(key, shared.get()))
+                .share());
+        return shared.get();
+    }
+
+    private <T> Mono<ResponseEntity<Object>> send(HttpMethod method, URI uri, Long userId, @Nullable T body) {
+        ResponseCache.CachedResponse cached = method == HttpMethod.GET ? responseCache.get(uri, userId) : null;
+        if (cached != null && cached.isFresh()) {
+            return Mono.just(cached.toResponseEntity());
+        }
+
+        WebClient.RequestBodySpec request = web
+                .method(method)
+                .uri(uri)
+                .headers(headers -> {
+                    defaultHeaders(headers, userId);
+                    if (cached != null) {
+                        headers.setIfNoneMatch(cached.getEtag());
+                    }
+                });
+
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+
+        return requestWithBody.exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(response -> {
+                    if (cached != null && response.getStatusCodeValue() == HttpStatus.NOT_MODIFIED.value()) {
+                        return responseCache.revalidate(uri, userId, cached, response.getHeaders())
+                                .toResponseEntity();
+                    }
+                    if (method == HttpMethod.GET) {
+                        responseCache.put(uri, userId, response);
+                    }
+                    return prepareGatewayResponse(response);
+                })
+                .doFinally(signal -> {
+                    if (method != HttpMethod.GET) {
+                        responseCache.evict(uri);
+                    }
+                });
+    }
+
+    private static void defaultHeaders(HttpHeaders headers, Long userId) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set(REQUEST_HEADER_USER_ID, String.valueOf(userId));
+        }
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCodeValue())
+                .headers(BaseClient.passThroughHeaders(response.getHeaders()));
+
+        if (response.hasBody()) {
+            return responseBuilder.body(response.getBody());
+        }
+
+        return responseBuilder.build();
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.client;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.net.URI;
+
+/**
+ * A GET to the server as the clients see it: the expanded URI, with path and query, and the acting user, whose
+ * header can change the response.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+class RequestKey {
+    private final URI uri;
+    private final Long userId;
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded cache of GET responses the server sent with an {@code ETag}, kept per user. A response is returned
+ * without asking the server only while its {@code Cache-Control: max-age} lasts; after that the client revalidates
+ * it with {@code If-None-Match} and, on 304, returns the cached body again. Any other request evicts the responses
+ * of its path and of the paths above it, for all users, found through an index of the cached keys by path.
+ */
+@Component
+public class ResponseCache {
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final Cache<RequestKey, CachedResponse> responses;
+    private final ConcurrentMap<String, Set<RequestKey>> keysByPath = new ConcurrentHashMap<>();
+
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${shareit-server.response-cache.maximum-size:10000}") long maximumSize) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .<RequestKey, CachedResponse>removalListener((key, response, cause) -> {
+                    if (key != null && cause != RemovalCause.REPLACED) {
+                        unindex(key);
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "responses");
+    }
+
+    @Nullable
+    public CachedResponse get(URI uri, @Nullable Long userId) {
+        return responses.getIfPresent(new RequestKey(uri, userId));
+    }
+
+    public void put(URI uri, @Nullable Long userId, ResponseEntity<byte[]> response) {
+        HttpHeaders headers = response.getHeaders();
+        String cacheControl = headers.getCacheControl();
+
+        if (response.getStatusCodeValue() != HttpStatus.OK.value()
+                || headers.getETag() == null
+                || cacheControl != null && cacheControl.contains("no-store")) {
+            return;
+        }
+
+        store(new RequestKey(uri, userId), new CachedResponse(
+                headers.getETag(),
+                BaseClient.passThroughHeaders(headers),
+                response.getBody(),
+                freshUntil(cacheControl)));
+    }
+
+    public CachedResponse revalidate(URI uri, @Nullable Long userId, CachedResponse cached, HttpHeaders headers) {
+        CachedResponse revalidated = new CachedResponse(
+                cached.getEtag(),
+                cached.getHeaders(),
+                cached.getBody(),
+                freshUntil(headers.getCacheControl()));
+        store(new RequestKey(uri, userId), revalidated);
+        return revalidated;
+    }
+
+    public void evict(URI uri) {
+        for (String path = uri.getPath(); !path.isEmpty(); path = path.substring(0, path.lastIndexOf('/'))) {
+            Set<RequestKey> keys = keysByPath.get(path);
+            if (keys != null) {
+                responses.invalidateAll(List.copyOf(keys));
+            }
+        }
+    }
+
+    /**
+     * Stores a response and indexes its key by path in one step, so that the removal listener, which drops keys
+     * from the index once their responses are gone, cannot drop a key that has just been stored again.
+     */
+    private void store(RequestKey key, CachedResponse response) {
+        keysByPath.compute(key.getUri().getPath(), (path, keys) -> {
+            Set<RequestKey> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            indexed.add(key);
+            responses.put(key, response);
+            return indexed;
+        });
+    }
+
+    private void unindex(RequestKey key) {
+        keysByPath.computeIfPresent(key.getUri().getPath(), (path, keys) -> {
+            if (!responses.asMap().containsKey(key)) {
+                keys.remove(key);
+            }
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static Instant freshUntil(@Nullable String cacheControl) {
+        Matcher maxAge = MAX_AGE.matcher(cacheControl != null ? cacheControl : "");
+
+        if (cacheControl == null || cacheControl.contains("no-cache") || !maxAge.find()) {
+            return Instant.MIN;
+        }
+
+        return Instant.now().plusSeconds(Long.parseLong(maxAge.group(1)));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedResponse {
+        private final String etag;
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private final Instant freshUntil;
+
+        public boolean isFresh() {
+            return Instant.now().isBefore(freshUntil);
+        }
+
+        public ResponseEntity<Object> toResponseEntity() {
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body(body);
+        }
+    }
+}
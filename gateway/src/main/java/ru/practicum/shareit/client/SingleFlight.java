@@ -0,0 +1,50 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical calls share one execution: the first caller for a key runs the call, and callers
+ * arriving while it runs wait for and get its result, or its exception. The key is released before the result is
+ * handed out, so a caller arriving afterwards runs a new call and never gets a result read before it asked.
+ */
+class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+    V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> ownCall = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = calls.putIfAbsent(key, ownCall);
+
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+
+        try {
+            V result = call.get();
+            calls.remove(key, ownCall);
+            ownCall.complete(result);
+            return result;
+        } catch (Throwable e) {
+            calls.remove(key, ownCall);
+            ownCall.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
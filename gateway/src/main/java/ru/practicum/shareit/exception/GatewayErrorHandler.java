@@ -7,7 +7,9 @@ import org.springframework.web.bind.ServletRequestBindingException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ServerWebInputException;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
@@ -111,4 +113,30 @@ public class GatewayErrorHandler {
                         e.getFieldError().getDefaultMessage())
         );
     }
+
+    @ExceptionHandler({ServerWebInputException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleServerWebInput(final ServerWebInputException e) {
+        log.debug("Получен статус {} {}. Причина: {}",
+                HttpStatus.BAD_REQUEST.value(),
+                HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                e.getMessage());
+        return Map.of(
+                "error", Objects.requireNonNullElse(e.getReason(), e.getMessage())
+        );
+    }
+
+    @ExceptionHandler({WebExchangeBindException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleWebExchangeBind(final WebExchangeBindException e) {
+        log.debug("Получен статус {} {}. Причина: {}",
+                HttpStatus.BAD_REQUEST.value(),
+                HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                e.getMessage());
+        return Map.of(
+                "error", String.format("Поле %s не прошло валидацию по причине: %s",
+                        Objects.requireNonNull(e.getFieldError()).getField(),
+                        e.getFieldError().getDefaultMessage())
+        );
+    }
 }
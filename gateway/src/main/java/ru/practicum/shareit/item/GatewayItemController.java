@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -13,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import ru.practicum.shareit.exception.NotValidDateException;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
 import ru.practicum.shareit.marker.OnCreate;
@@ -22,11 +25,15 @@ import ru.practicum.shareit.marker.ToLog;
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 
 import static ru.practicum.shareit.util.Constants.REQUEST_HEADER_USER_ID;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/items")
 @RequiredArgsConstructor
 @Validated
@@ -37,8 +44,9 @@ public class GatewayItemController {
     @GetMapping
     public ResponseEntity<Object> getAllByUserId(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
                                            @RequestParam(defaultValue = "0") @Min(0) @Max(Integer.MAX_VALUE) int from,
-                                           @RequestParam(defaultValue = "20") @Min(1) @Max(20) int size) {
-        return client.getAllByUserId(userId, from, size);
+                                           @RequestParam(defaultValue = "20") @Min(1) @Max(20) int size,
+                                           @RequestParam(required = false) String cursor) {
+        return client.getAllByUserId(userId, from, size, cursor);
     }
 
     @GetMapping("/{itemId}")
@@ -53,6 +61,14 @@ public class GatewayItemController {
         return client.create(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    @Validated(OnCreate.class)
+    public ResponseEntity<Object> createAll(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                            @RequestBody @Size(max = 100, groups = OnCreate.class)
+                                            List<@Valid CreateUpdateItemDto> itemDtos) {
+        return client.createAll(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> update(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
                              @PathVariable long itemId,
@@ -78,6 +94,20 @@ public class GatewayItemController {
         return client.search(userId, text, from, size);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                  @PathVariable long itemId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new NotValidDateException("Дата начала должна быть раньше даты окончания");
+        }
+
+        return client.getAvailability(userId, itemId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> createComment(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
                                        @PathVariable long itemId,
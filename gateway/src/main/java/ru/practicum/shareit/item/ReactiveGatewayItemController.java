@@ -0,0 +1,118 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.NotValidDateException;
+import ru.practicum.shareit.item.dto.CreateCommentDto;
+import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
+import ru.practicum.shareit.marker.OnCreate;
+import ru.practicum.shareit.marker.OnUpdate;
+import ru.practicum.shareit.marker.ToLog;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static ru.practicum.shareit.util.Constants.REQUEST_HEADER_USER_ID;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/items")
+@RequiredArgsConstructor
+@Validated
+@ToLog
+public class ReactiveGatewayItemController {
+    private final ReactiveItemClient client;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllByUserId(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                 @RequestParam(defaultValue = "0") @Min(0) @Max(Integer.MAX_VALUE) int from,
+                                                 @RequestParam(defaultValue = "20") @Min(1) @Max(20) int size,
+                                                 @RequestParam(required = false) String cursor) {
+        return client.getAllByUserId(userId, from, size, cursor);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> getByItemId(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                        @PathVariable long itemId) {
+        return client.getOneById(userId, itemId);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                   @RequestBody @Validated(OnCreate.class) CreateUpdateItemDto itemDto) {
+        return client.create(userId, itemDto);
+    }
+
+    @PostMapping("/batch")
+    @Validated(OnCreate.class)
+    public Mono<ResponseEntity<Object>> createAll(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                  @RequestBody @Size(max = 100, groups = OnCreate.class)
+                                                  List<@Valid CreateUpdateItemDto> itemDtos) {
+        return client.createAll(userId, itemDtos);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> update(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                   @PathVariable long itemId,
+                                   @RequestBody @Validated(OnUpdate.class) CreateUpdateItemDto itemDto) {
+        return client.update(userId, itemId, itemDto);
+    }
+
+    @DeleteMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> delete(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                               @PathVariable long itemId) {
+        return client.delete(userId, itemId).thenReturn(ResponseEntity.ok().build());
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> search(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                         @RequestParam String text,
+                                         @RequestParam(defaultValue = "0") @Min(0) @Max(Integer.MAX_VALUE) int from,
+                                         @RequestParam(defaultValue = "20") @Min(1) @Max(20) int size) {
+        if (text.isBlank()) {
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
+        }
+
+        return client.search(userId, text, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                        @PathVariable long itemId,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime from,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new NotValidDateException("Дата начала должна быть раньше даты окончания");
+        }
+
+        return client.getAvailability(userId, itemId, from, to);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Object>> createComment(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                             @PathVariable long itemId,
+                                             @RequestBody @Valid CreateCommentDto commentDto) {
+        return client.createComment(userId, itemId, commentDto);
+    }
+}
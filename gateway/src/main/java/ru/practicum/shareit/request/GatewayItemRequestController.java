@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -21,6 +22,7 @@ import javax.validation.constraints.Min;
 import static ru.practicum.shareit.util.Constants.REQUEST_HEADER_USER_ID;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/requests")
 @RequiredArgsConstructor
 @Validated
@@ -42,8 +44,9 @@ public class GatewayItemRequestController {
     @GetMapping("/all")
     public ResponseEntity<Object> getAllRequests(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
                                                   @RequestParam(defaultValue = "0") @Min(0) @Max(Integer.MAX_VALUE) int from,
-                                                  @RequestParam(defaultValue = "20") @Min(1) @Max(20) int size) {
-        return client.getAllRequests(userId, from, size);
+                                                  @RequestParam(defaultValue = "20") @Min(1) @Max(20) int size,
+                                                  @RequestParam(required = false) String cursor) {
+        return client.getAllRequests(userId, from, size, cursor);
     }
 
     @GetMapping("/{requestId}")
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.request.dto.CreateItemRequestDto;
+
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRequestClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ResponseCache responseCache) {
+        super(
+                builder.build(),
+                new DefaultUriBuilderFactory(serverUrl + API_PREFIX),
+                responseCache
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> createRequest(long userId, CreateItemRequestDto itemRequestDto) {
+        return post("", userId, itemRequestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllRequestsByUserId(long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllRequests(long userId, int from, int size, String cursor) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size,
+                "cursor", Objects.requireNonNullElse(cursor, ""));
+        return get("/all?from={from}&size={size}&cursor={cursor}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getRequestById(long userId, long requestId) {
+        return get("/" + requestId, userId);
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -17,10 +18,14 @@ import ru.practicum.shareit.marker.OnUpdate;
 import ru.practicum.shareit.marker.ToLog;
 import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
 
+import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
 @Validated
@@ -31,8 +36,9 @@ public class GatewayUserController {
     @GetMapping
     public ResponseEntity<Object> getAll(
             @RequestParam(defaultValue = "0") @Min(0) @Max(Integer.MAX_VALUE) int from,
-            @RequestParam(defaultValue = "20") @Min(1) @Max(20) int size) {
-        return client.getAll(from, size);
+            @RequestParam(defaultValue = "20") @Min(1) @Max(20) int size,
+            @RequestParam(required = false) String cursor) {
+        return client.getAll(from, size, cursor);
     }
 
     @GetMapping("/{userId}")
@@ -45,6 +51,13 @@ public class GatewayUserController {
         return client.create(createUpdateUserDto);
     }
 
+    @PostMapping("/batch")
+    @Validated(OnCreate.class)
+    public ResponseEntity<Object> createAll(@RequestBody @Size(max = 100, groups = OnCreate.class)
+                                            List<@Valid CreateUpdateUserDto> createUpdateUserDtos) {
+        return client.createAll(createUpdateUserDtos);
+    }
+
     @PatchMapping("/{userId}")
     public ResponseEntity<Object> update(@PathVariable long userId,
                              @RequestBody @Validated(OnUpdate.class) CreateUpdateUserDto createUpdateUserDto) {
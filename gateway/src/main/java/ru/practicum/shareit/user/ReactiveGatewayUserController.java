@@ -0,0 +1,72 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.marker.OnCreate;
+import ru.practicum.shareit.marker.OnUpdate;
+import ru.practicum.shareit.marker.ToLog;
+import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Validated
+@ToLog
+public class ReactiveGatewayUserController {
+    private final ReactiveUserClient client;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAll(
+            @RequestParam(defaultValue = "0") @Min(0) @Max(Integer.MAX_VALUE) int from,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(20) int size,
+            @RequestParam(required = false) String cursor) {
+        return client.getAll(from, size, cursor);
+    }
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> getById(@PathVariable long userId) {
+        return client.getById(userId);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> create(@RequestBody @Validated(OnCreate.class) CreateUpdateUserDto createUpdateUserDto) {
+        return client.create(createUpdateUserDto);
+    }
+
+    @PostMapping("/batch")
+    @Validated(OnCreate.class)
+    public Mono<ResponseEntity<Object>> createAll(@RequestBody @Size(max = 100, groups = OnCreate.class)
+                                                  List<@Valid CreateUpdateUserDto> createUpdateUserDtos) {
+        return client.createAll(createUpdateUserDtos);
+    }
+
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> update(@PathVariable long userId,
+                                   @RequestBody @Validated(OnUpdate.class) CreateUpdateUserDto createUpdateUserDto) {
+        return client.update(userId, createUpdateUserDto);
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> deleteById(@PathVariable long userId) {
+        return client.deleteById(userId);
+    }
+}
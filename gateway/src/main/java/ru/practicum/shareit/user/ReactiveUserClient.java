@@ -0,0 +1,62 @@
+package ru.practicum.shareit.user;
+
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ResponseCache responseCache) {
+        super(
+                builder.build(),
+                new DefaultUriBuilderFactory(serverUrl + API_PREFIX),
+                responseCache
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getAll(int from, int size, String cursor) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size,
+                "cursor", Objects.requireNonNullElse(cursor, ""));
+        return get("?from={from}&size={size}&cursor={cursor}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getById(long userId) {
+        return get("/" + userId);
+    }
+
+    public Mono<ResponseEntity<Object>> create(CreateUpdateUserDto createUpdateUserDto) {
+        return post("", createUpdateUserDto);
+    }
+
+    public Mono<ResponseEntity<Object>> createAll(List<CreateUpdateUserDto> createUpdateUserDtos) {
+        return post("/batch", createUpdateUserDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> update(long userId, CreateUpdateUserDto createUpdateUserDto) {
+        return patch("/" + userId, createUpdateUserDto);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteById(long userId) {
+        return delete("/" + userId);
+    }
+}
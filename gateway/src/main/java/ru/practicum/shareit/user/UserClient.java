@@ -3,35 +3,44 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory,
+                      ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                responseCache
         );
     }
 
-    public ResponseEntity<Object> getAll(int from, int size) {
+    public ResponseEntity<Object> getAll(int from, int size, String cursor) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
-                "size", size);
-        return get("", null, parameters);
+                "size", size,
+                "cursor", Objects.requireNonNullElse(cursor, ""));
+        return get("?from={from}&size={size}&cursor={cursor}", null, parameters);
     }
 
     public ResponseEntity<Object> getById(long userId) {
@@ -42,6 +51,10 @@ public class UserClient extends BaseClient {
         return post("", createUpdateUserDto);
     }
 
+    public ResponseEntity<Object> createAll(List<CreateUpdateUserDto> createUpdateUserDtos) {
+        return post("/batch", createUpdateUserDtos);
+    }
+
     public ResponseEntity<Object> update(long userId, CreateUpdateUserDto createUpdateUserDto) {
         return patch("/" + userId, createUpdateUserDto);
     }
@@ -0,0 +1,237 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.ReactiveBookingClient;
+import ru.practicum.shareit.booking.ReactiveGatewayBookingController;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.item.ReactiveGatewayItemController;
+import ru.practicum.shareit.item.ReactiveItemClient;
+import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
+import ru.practicum.shareit.request.ReactiveGatewayItemRequestController;
+import ru.practicum.shareit.request.ReactiveRequestClient;
+import ru.practicum.shareit.user.ReactiveGatewayUserController;
+import ru.practicum.shareit.user.ReactiveUserClient;
+import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.util.Constants.REQUEST_HEADER_USER_ID;
+
+/**
+ * Runs the reactive controllers, clients and error handler against a stub server that records every request
+ * and answers with the response set by the test.
+ */
+@WebFluxTest(
+        controllers = {
+                ReactiveGatewayBookingController.class,
+                ReactiveGatewayItemController.class,
+                ReactiveGatewayItemRequestController.class,
+                ReactiveGatewayUserController.class},
+        properties = {"spring.main.web-application-type=reactive", "shareit-server.url=http://server"})
+@Import({
+        ReactiveBookingClient.class,
+        ReactiveItemClient.class,
+        ReactiveRequestClient.class,
+        ReactiveUserClient.class,
+        ReactiveGatewayControllerTest.StubServerConfiguration.class})
+class ReactiveGatewayControllerTest {
+    private static final CreateUpdateItemDto ITEM = CreateUpdateItemDto.builder()
+            .name("itemName")
+            .description("itemDescription")
+            .available(true)
+            .build();
+    private static final CreateUpdateUserDto USER = CreateUpdateUserDto.builder()
+            .name("userName")
+            .email("user@ya.ru")
+            .build();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private StubServer server;
+
+    @BeforeEach
+    void setUp() {
+        server.reset();
+    }
+
+    @Test
+    void shouldForwardUserHeaderAndPassBodyThrough() {
+        byte[] body = "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+        server.respond(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(new String(body, StandardCharsets.UTF_8))
+                .build());
+
+        byte[] response = webTestClient.get().uri("/items/1")
+                .header(REQUEST_HEADER_USER_ID, "7")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().returnResult().getResponseBody();
+
+        assertArrayEquals(body, response);
+        ClientRequest request = server.getRequests().get(0);
+        assertEquals(HttpMethod.GET, request.method());
+        assertEquals(URI.create("http://server/items/1"), request.url());
+        assertEquals("7", request.headers().getFirst(REQUEST_HEADER_USER_ID));
+    }
+
+    @Test
+    void shouldNotForwardUserHeaderToUsers() {
+        server.respond(ClientResponse.create(HttpStatus.OK).build());
+
+        webTestClient.get().uri("/users/1")
+                .header(REQUEST_HEADER_USER_ID, "7")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(server.getRequests().get(0).headers().containsKey(REQUEST_HEADER_USER_ID)).isFalse();
+    }
+
+    @Test
+    void shouldGetBadRequestWithoutOrWithMalformedUserHeader() {
+        webTestClient.get().uri("/items/1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").exists();
+        webTestClient.get().uri("/bookings/counts")
+                .header(REQUEST_HEADER_USER_ID, "one")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        assertThat(server.getRequests()).isEmpty();
+    }
+
+    @Test
+    void shouldGetBadRequestWithInvalidParameters() {
+        webTestClient.get().uri("/bookings?state=unknown")
+                .header(REQUEST_HEADER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Unknown state: UNSUPPORTED_STATUS");
+        webTestClient.get().uri("/items?size=0")
+                .header(REQUEST_HEADER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.get().uri("/requests/all?from=-1")
+                .header(REQUEST_HEADER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        assertThat(server.getRequests()).isEmpty();
+    }
+
+    @Test
+    void shouldGetBadRequestWithInvalidBody() {
+        webTestClient.post().uri("/items")
+                .header(REQUEST_HEADER_USER_ID, "1")
+                .bodyValue(ITEM.toBuilder().name(" ").build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").value(error -> assertThat((String) error).contains("name"));
+        webTestClient.post().uri("/users/batch")
+                .bodyValue(List.of(USER, USER.toBuilder().email("email").build()))
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.post().uri("/items/batch")
+                .header(REQUEST_HEADER_USER_ID, "1")
+                .bodyValue(Collections.nCopies(101, ITEM))
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        assertThat(server.getRequests()).isEmpty();
+    }
+
+    @Test
+    void shouldPassServerErrorsThrough() {
+        for (HttpStatus status : List.of(HttpStatus.NOT_FOUND, HttpStatus.CONFLICT, HttpStatus.INTERNAL_SERVER_ERROR)) {
+            String body = "{\"error\":\"" + status.getReasonPhrase() + "\"}";
+            server.respond(ClientResponse.create(status)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+
+            webTestClient.post().uri("/users")
+                    .bodyValue(USER)
+                    .exchange()
+                    .expectStatus().isEqualTo(status)
+                    .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                    .expectBody(String.class).isEqualTo(body);
+        }
+
+        assertThat(server.getRequests()).hasSize(3);
+    }
+
+    static class StubServer implements ExchangeFunction {
+        private final List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+        private volatile ClientResponse response;
+
+        @Override
+        public Mono<ClientResponse> exchange(ClientRequest request) {
+            requests.add(request);
+            return Mono.just(response);
+        }
+
+        void respond(ClientResponse response) {
+            this.response = response;
+        }
+
+        void reset() {
+            requests.clear();
+            response = null;
+        }
+
+        List<ClientRequest> getRequests() {
+            return requests;
+        }
+    }
+
+    @TestConfiguration
+    static class StubServerConfiguration {
+        @Bean
+        StubServer stubServer() {
+            return new StubServer();
+        }
+
+        @Bean
+        WebClient.Builder webClientBuilder(StubServer stubServer) {
+            return WebClient.builder().exchangeFunction(stubServer);
+        }
+
+        @Bean
+        ResponseCache responseCache() {
+            return new ResponseCache(new SimpleMeterRegistry(), 100);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static ru.practicum.shareit.util.Constants.REQUEST_HEADER_USER_ID;
+
+class BaseClientTest {
+    private static final byte[] BODY = "{ \"name\" : \"Дрель\",\n  \"id\":1 }".getBytes(StandardCharsets.UTF_8);
+
+    private final RestTemplate rest = new RestTemplateBuilder()
+            .uriTemplateHandler(new DefaultUriBuilderFactory("http://server/items"))
+            .build();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+    private final ResponseCache responseCache = new ResponseCache(new SimpleMeterRegistry(), 100);
+    private final BaseClient client = new BaseClient(rest, responseCache);
+
+    @Test
+    void shouldPassBodyThroughByteForByte() {
+        server.expect(requestTo("http://server/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(REQUEST_HEADER_USER_ID, "1"))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(BODY));
+
+        ResponseEntity<Object> response = client.get("/1", 1L);
+
+        server.verify();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(BODY, (byte[]) response.getBody());
+    }
+
+    @Test
+    void shouldPassErrorBodyThroughByteForByte() {
+        byte[] error = "{\"error\":\"Вещь не найдена\"}".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo("http://server/items/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(error));
+        server.expect(requestTo("http://server/items"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.BAD_REQUEST)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(BODY));
+
+        ResponseEntity<Object> notFound = client.get("/1", 1L);
+        ResponseEntity<Object> badRequest = client.post("", 1L, Map.of("name", "Дрель"));
+
+        server.verify();
+        assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, notFound.getHeaders().getContentType());
+        assertArrayEquals(error, (byte[]) notFound.getBody());
+        assertEquals(HttpStatus.BAD_REQUEST, badRequest.getStatusCode());
+        assertArrayEquals(BODY, (byte[]) badRequest.getBody());
+    }
+
+    @Test
+    void shouldStripHopByHopHeadersAndContentLength() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setConnection("keep-alive");
+        headers.set("Keep-Alive", "timeout=60");
+        headers.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        headers.set(HttpHeaders.TRAILER, "Expires");
+        headers.set(HttpHeaders.UPGRADE, "h2c");
+        headers.setContentLength(BODY.length);
+        headers.set("X-Next-Cursor", "abc");
+        server.expect(requestTo("http://server/items/1"))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .headers(headers)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(BODY));
+        server.expect(requestTo("http://server/items/2"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .headers(headers)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(BODY));
+
+        assertPassedThrough(client.get("/1", 1L).getHeaders());
+        assertPassedThrough(client.get("/2", 1L).getHeaders());
+        server.verify();
+    }
+
+    @Test
+    void shouldAnswerFreshResponsesFromCache() {
+        server.expect(ExpectedCount.once(), requestTo("http://server/items/1"))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .headers(cacheHeaders("max-age=60"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(BODY));
+
+        client.get("/1", 1L);
+        ResponseEntity<Object> cached = client.get("/1", 1L);
+
+        server.verify();
+        assertEquals(HttpStatus.OK, cached.getStatusCode());
+        assertArrayEquals(BODY, (byte[]) cached.getBody());
+    }
+
+    @Test
+    void shouldRevalidateStaleResponseAndReuseBodyOnNotModified() {
+        server.expect(requestTo("http://server/items/1"))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .headers(cacheHeaders("no-cache"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(BODY));
+        server.expect(requestTo("http://server/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED)
+                        .headers(cacheHeaders("max-age=60")));
+
+        client.get("/1", 1L);
+        ResponseEntity<Object> revalidated = client.get("/1", 1L);
+        ResponseEntity<Object> fresh = client.get("/1", 1L);
+
+        server.verify();
+        assertEquals(HttpStatus.OK, revalidated.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, revalidated.getHeaders().getContentType());
+        assertArrayEquals(BODY, (byte[]) revalidated.getBody());
+        assertArrayEquals(BODY, (byte[]) fresh.getBody());
+    }
+
+    @Test
+    void shouldReplaceStaleResponseWhenChanged() {
+        byte[] changed = "{\"id\":1,\"name\":\"Пила\"}".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo("http://server/items/1"))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .headers(cacheHeaders("no-cache"))
+                        .body(BODY));
+        server.expect(requestTo("http://server/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .headers(cacheHeaders("no-cache"))
+                        .body(changed));
+
+        client.get("/1", 1L);
+
+        assertArrayEquals(changed, (byte[]) client.get("/1", 1L).getBody());
+        server.verify();
+    }
+
+    @Test
+    void shouldEvictCachedResponseOnChange() {
+        server.expect(requestTo("http://server/items/1"))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .headers(cacheHeaders("max-age=60"))
+                        .body(BODY));
+        server.expect(requestTo("http://server/items/1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withStatus(HttpStatus.OK));
+        server.expect(requestTo("http://server/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .body(BODY));
+
+        client.get("/1", 1L);
+        client.patch("/1", 1L, Map.of("name", "Пила"));
+        client.get("/1", 1L);
+
+        server.verify();
+    }
+
+    private static HttpHeaders cacheHeaders(String cacheControl) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"1\"");
+        headers.setCacheControl(cacheControl);
+        return headers;
+    }
+
+    private static void assertPassedThrough(HttpHeaders headers) {
+        assertThat(headers.keySet())
+                .doesNotContain(HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.TRANSFER_ENCODING,
+                        HttpHeaders.TRAILER, HttpHeaders.UPGRADE, HttpHeaders.CONTENT_LENGTH)
+                .contains(HttpHeaders.CONTENT_TYPE, "X-Next-Cursor");
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReactiveBaseClientTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final AtomicInteger exchanges = new AtomicInteger();
+    private final ResponseCache responseCache = new ResponseCache(new SimpleMeterRegistry(), 100);
+    private Sinks.One<ClientResponse> response = Sinks.one();
+    private final ReactiveBaseClient client = new ReactiveBaseClient(
+            WebClient.builder()
+                    .exchangeFunction(request -> {
+                        exchanges.incrementAndGet();
+                        return response.asMono();
+                    })
+                    .build(),
+            new DefaultUriBuilderFactory("http://server"),
+            responseCache);
+
+    @Test
+    void shouldSendConcurrentIdenticalGetsOnce() {
+        Mono<List<ResponseEntity<Object>>> responses = Mono.zip(
+                client.get("/items/1", 1L), client.get("/items/1", 1L), client.get("/items/1", 1L))
+                .map(results -> List.of(results.getT1(), results.getT2(), results.getT3()));
+
+        Mono<List<ResponseEntity<Object>>> all = responses.cache();
+        all.subscribe();
+        response.tryEmitValue(ClientResponse.create(HttpStatus.OK).body("{\"id\":1}").build());
+
+        assertThat(all.block(TIMEOUT))
+                .hasSize(3)
+                .allSatisfy(entity -> {
+                    assertEquals(HttpStatus.OK, entity.getStatusCode());
+                    assertArrayEquals("{\"id\":1}".getBytes(), (byte[]) entity.getBody());
+                });
+        assertEquals(1, exchanges.get());
+    }
+
+    @Test
+    void shouldNotShareGetsOfDifferentUsers() {
+        response.tryEmitValue(ClientResponse.create(HttpStatus.OK).build());
+
+        Mono.zip(client.get("/items/1", 1L), client.get("/items/1", 2L)).block(TIMEOUT);
+
+        assertEquals(2, exchanges.get());
+    }
+
+    @Test
+    void shouldHandErrorToEveryCaller() {
+        Mono<ResponseEntity<Object>> first = client.get("/items/1", 1L);
+        Mono<ResponseEntity<Object>> second = client.get("/items/1", 1L);
+        Mono<ResponseEntity<Object>> firstResult = first.cache();
+        Mono<ResponseEntity<Object>> secondResult = second.cache();
+        firstResult.subscribe(entity -> { }, e -> { });
+        secondResult.subscribe(entity -> { }, e -> { });
+
+        response.tryEmitError(new IllegalStateException("server down"));
+
+        assertEquals("server down", assertThrows(IllegalStateException.class,
+                () -> firstResult.block(TIMEOUT)).getMessage());
+        assertEquals("server down", assertThrows(IllegalStateException.class,
+                () -> secondResult.block(TIMEOUT)).getMessage());
+        assertEquals(1, exchanges.get());
+    }
+
+    @Test
+    void shouldReleaseKeyAfterCompletion() {
+        response.tryEmitValue(ClientResponse.create(HttpStatus.OK).build());
+        client.get("/items/1", 1L).block(TIMEOUT);
+
+        response = Sinks.one();
+        response.tryEmitError(new IllegalStateException("server down"));
+        assertThrows(IllegalStateException.class, () -> client.get("/items/1", 1L).block(TIMEOUT));
+
+        response = Sinks.one();
+        response.tryEmitValue(ClientResponse.create(HttpStatus.OK).build());
+        client.get("/items/1", 1L).block(TIMEOUT);
+
+        assertEquals(3, exchanges.get());
+    }
+
+    @Test
+    void shouldReleaseKeyWhenAllCallersCancel() {
+        client.get("/items/1", 1L).subscribe().dispose();
+        responseCache.put(URI.create("http://server/items/1"), 1L, ResponseEntity.ok()
+                .eTag("\"1\"")
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(1)))
+                .body("{\"id\":1}".getBytes()));
+
+        ResponseEntity<Object> entity = client.get("/items/1", 1L).block(TIMEOUT);
+
+        assertArrayEquals("{\"id\":1}".getBytes(), (byte[]) entity.getBody());
+        assertEquals(1, exchanges.get());
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTest {
+    private static final URI ITEM = URI.create("http://server/items/1");
+    private static final byte[] BODY = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+    private final ResponseCache responseCache = new ResponseCache(new SimpleMeterRegistry(), 100);
+
+    @Test
+    void shouldKeepResponseFreshForMaxAge() {
+        responseCache.put(ITEM, 1L, response(CacheControl.maxAge(Duration.ofMinutes(1))));
+
+        ResponseCache.CachedResponse cached = responseCache.get(ITEM, 1L);
+
+        assertNotNull(cached);
+        assertTrue(cached.isFresh());
+        assertEquals("\"1\"", cached.getEtag());
+        assertArrayEquals(BODY, (byte[]) cached.toResponseEntity().getBody());
+        assertNull(responseCache.get(ITEM, 2L));
+    }
+
+    @Test
+    void shouldKeepStaleResponseForRevalidation() {
+        responseCache.put(ITEM, 1L, response(CacheControl.noCache()));
+        responseCache.put(URI.create("http://server/items/2"), 1L, ResponseEntity.ok().eTag("\"2\"").body(BODY));
+
+        assertFalse(responseCache.get(ITEM, 1L).isFresh());
+        assertFalse(responseCache.get(URI.create("http://server/items/2"), 1L).isFresh());
+    }
+
+    @Test
+    void shouldReuseBodyAndRefreshOnNotModified() {
+        responseCache.put(ITEM, 1L, response(CacheControl.noCache()));
+        ResponseCache.CachedResponse stale = responseCache.get(ITEM, 1L);
+        HttpHeaders notModified = new HttpHeaders();
+        notModified.setCacheControl(CacheControl.maxAge(Duration.ofMinutes(1)));
+
+        ResponseEntity<Object> response = responseCache.revalidate(ITEM, 1L, stale, notModified).toResponseEntity();
+
+        assertArrayEquals(BODY, (byte[]) response.getBody());
+        assertEquals("\"1\"", response.getHeaders().getETag());
+        assertTrue(responseCache.get(ITEM, 1L).isFresh());
+    }
+
+    @Test
+    void shouldNotStoreUncacheableResponses() {
+        responseCache.put(ITEM, 1L, response(CacheControl.noStore()));
+        responseCache.put(URI.create("http://server/items/2"), 1L, ResponseEntity.ok().body(BODY));
+        responseCache.put(URI.create("http://server/items/3"), 1L, ResponseEntity.status(404).eTag("\"3\"").body(BODY));
+
+        assertNull(responseCache.get(ITEM, 1L));
+        assertNull(responseCache.get(URI.create("http://server/items/2"), 1L));
+        assertNull(responseCache.get(URI.create("http://server/items/3"), 1L));
+    }
+
+    @Test
+    void shouldEvictPathAndPathsAboveItForAllUsers() {
+        URI items = URI.create("http://server/items?from=0&size=20");
+        URI otherItem = URI.create("http://server/items/10");
+        URI user = URI.create("http://server/users/1");
+        for (URI uri : new URI[]{ITEM, items, otherItem, user}) {
+            responseCache.put(uri, 1L, response(CacheControl.maxAge(Duration.ofMinutes(1))));
+        }
+        responseCache.put(ITEM, 2L, response(CacheControl.maxAge(Duration.ofMinutes(1))));
+
+        responseCache.evict(URI.create("http://server/items/1/comment"));
+
+        assertNull(responseCache.get(ITEM, 1L));
+        assertNull(responseCache.get(ITEM, 2L));
+        assertNull(responseCache.get(items, 1L));
+        assertNotNull(responseCache.get(otherItem, 1L));
+        assertNotNull(responseCache.get(user, 1L));
+    }
+
+    @Test
+    void shouldEvictResponseStoredAgainAfterEviction() {
+        responseCache.put(ITEM, 1L, response(CacheControl.maxAge(Duration.ofMinutes(1))));
+        responseCache.evict(ITEM);
+        responseCache.put(ITEM, 1L, response(CacheControl.maxAge(Duration.ofMinutes(1))));
+        responseCache.put(ITEM, 1L, response(CacheControl.maxAge(Duration.ofMinutes(2))));
+
+        responseCache.evict(ITEM);
+
+        assertThat(responseCache.get(ITEM, 1L)).isNull();
+    }
+
+    private static ResponseEntity<byte[]> response(CacheControl cacheControl) {
+        return ResponseEntity.ok()
+                .eTag("\"1\"")
+                .cacheControl(cacheControl)
+                .body(BODY);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.AbstractClientHttpRequestFactoryWrapper;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.RequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the servlet-mode clients send through the one pooled request factory of HttpClientConfiguration.
+ */
+@SpringBootTest(properties = "shareit-server.url=http://server")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class SharedRequestFactoryTest {
+    private final ClientHttpRequestFactory requestFactory;
+    private final BookingClient bookingClient;
+    private final ItemClient itemClient;
+    private final RequestClient requestClient;
+    private final UserClient userClient;
+
+    @Test
+    void shouldShareOneRequestFactory() {
+        assertThat(List.of(bookingClient, itemClient, requestClient, userClient))
+                .allSatisfy(client -> assertThat(unwrap(client.rest.getRequestFactory())).isSameAs(requestFactory));
+    }
+
+    /**
+     * Strips the wrappers RestTemplate adds for its interceptors, such as the metrics one.
+     */
+    private static ClientHttpRequestFactory unwrap(ClientHttpRequestFactory factory) {
+        while (factory instanceof AbstractClientHttpRequestFactoryWrapper) {
+            factory = (ClientHttpRequestFactory) ReflectionTestUtils.getField(factory, "requestFactory");
+        }
+        return factory;
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+    private static final int FOLLOWERS = 8;
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void shouldRunConcurrentCallsOnce() throws InterruptedException {
+        ConcurrentLinkedQueue<String> results = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(() -> results.add(singleFlight.execute("key", this::blockingCall)));
+
+        assertEquals(1, calls.get());
+        assertThat(results)
+                .hasSize(FOLLOWERS + 1)
+                .containsOnly("result");
+    }
+
+    @Test
+    void shouldHandExceptionToEveryCaller() throws InterruptedException {
+        ConcurrentLinkedQueue<RuntimeException> exceptions = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(() -> exceptions.add(assertThrows(IllegalStateException.class,
+                () -> singleFlight.execute("key", () -> {
+                    blockingCall();
+                    throw new IllegalStateException("server down");
+                }))));
+
+        assertEquals(1, calls.get());
+        assertThat(exceptions)
+                .hasSize(FOLLOWERS + 1)
+                .allSatisfy(e -> assertEquals("server down", e.getMessage()));
+    }
+
+    @Test
+    void shouldReleaseKeyAfterCompletion() {
+        assertEquals("1", singleFlight.execute("key", () -> String.valueOf(calls.incrementAndGet())));
+        assertEquals("2", singleFlight.execute("key", () -> String.valueOf(calls.incrementAndGet())));
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals("3", singleFlight.execute("key", () -> String.valueOf(calls.incrementAndGet())));
+    }
+
+    @Test
+    void shouldNotShareBetweenKeys() {
+        assertEquals("a", singleFlight.execute("a", () -> "a"));
+        assertEquals("b", singleFlight.execute("b", () -> "b"));
+    }
+
+    private String blockingCall() {
+        calls.incrementAndGet();
+        started.countDown();
+        try {
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        return "result";
+    }
+
+    /**
+     * Starts a leader, waits until its call runs, then starts followers and releases the call
+     * once all of them are waiting for it.
+     */
+    private void runConcurrently(Runnable caller) throws InterruptedException {
+        Thread leader = new Thread(caller);
+        leader.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        List<Thread> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            Thread follower = new Thread(caller);
+            follower.start();
+            followers.add(follower);
+        }
+        for (Thread follower : followers) {
+            while (follower.getState() != Thread.State.WAITING) {
+                assertTrue(follower.isAlive());
+                Thread.sleep(1);
+            }
+        }
+
+        release.countDown();
+        leader.join(10_000);
+        for (Thread follower : followers) {
+            follower.join(10_000);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.REQUEST_HEADER_USER_ID;
+
+@WebMvcTest(controllers = GatewayItemController.class)
+class GatewayItemControllerTest {
+    private static final CreateUpdateItemDto ITEM = CreateUpdateItemDto.builder()
+            .name("itemName")
+            .description("itemDescription")
+            .available(true)
+            .build();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ItemClient client;
+
+    @Test
+    void shouldCreateAllItems() throws Exception {
+        when(client.createAll(anyLong(), anyList()))
+                .thenReturn(ResponseEntity.ok().build());
+
+        postBatch(List.of(ITEM, ITEM))
+                .andExpect(status().isOk());
+        verify(client, times(1)).createAll(1L, List.of(ITEM, ITEM));
+    }
+
+    @Test
+    void shouldGetExceptionWithCreateAllWithInvalidItem() throws Exception {
+        postBatch(List.of(ITEM, ITEM.toBuilder().name(" ").build()))
+                .andExpect(status().isBadRequest());
+        postBatch(List.of(ITEM.toBuilder().available(null).build()))
+                .andExpect(status().isBadRequest());
+        verify(client, never()).createAll(anyLong(), anyList());
+    }
+
+    @Test
+    void shouldGetExceptionWithCreateAllWithTooManyItems() throws Exception {
+        postBatch(Collections.nCopies(101, ITEM))
+                .andExpect(status().isBadRequest());
+        verify(client, never()).createAll(anyLong(), anyList());
+    }
+
+    private ResultActions postBatch(List<CreateUpdateItemDto> items)
+            throws Exception {
+        return mockMvc.perform(post("/items/batch")
+                .header(REQUEST_HEADER_USER_ID, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(items)));
+    }
+}
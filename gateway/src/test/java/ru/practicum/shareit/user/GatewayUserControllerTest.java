@@ -0,0 +1,72 @@
+package ru.practicum.shareit.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = GatewayUserController.class)
+class GatewayUserControllerTest {
+    private static final CreateUpdateUserDto USER = CreateUpdateUserDto.builder()
+            .name("userName")
+            .email("user@ya.ru")
+            .build();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private UserClient client;
+
+    @Test
+    void shouldCreateAllUsers() throws Exception {
+        when(client.createAll(anyList()))
+                .thenReturn(ResponseEntity.ok().build());
+
+        postBatch(List.of(USER, USER.toBuilder().email("other@ya.ru").build()))
+                .andExpect(status().isOk());
+        verify(client, times(1)).createAll(anyList());
+    }
+
+    @Test
+    void shouldGetExceptionWithCreateAllWithInvalidUser() throws Exception {
+        postBatch(List.of(USER, USER.toBuilder().email("email").build()))
+                .andExpect(status().isBadRequest());
+        postBatch(List.of(USER.toBuilder().name(null).build()))
+                .andExpect(status().isBadRequest());
+        verify(client, never()).createAll(anyList());
+    }
+
+    @Test
+    void shouldGetExceptionWithCreateAllWithTooManyUsers() throws Exception {
+        postBatch(Collections.nCopies(101, USER))
+                .andExpect(status().isBadRequest());
+        verify(client, never()).createAll(anyList());
+    }
+
+    private ResultActions postBatch(List<CreateUpdateUserDto> users) throws Exception {
+        return mockMvc.perform(post("/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(users)));
+    }
+}
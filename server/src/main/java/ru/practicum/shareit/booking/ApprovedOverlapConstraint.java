@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells whether the database rejects overlapping approved bookings itself, through the PostgreSQL exclusion
+ * constraint {@code EX_BOOKINGS_APPROVED_OVERLAP}. H2 has no such constraint, and PostgreSQL may lack it when
+ * btree_gist cannot be installed or existing data overlaps; approvals then have to lock the item instead.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApprovedOverlapConstraint {
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean present;
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void check() {
+        try {
+            present = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "select count(*) > 0 from pg_constraint where conname = 'ex_bookings_approved_overlap'",
+                    Boolean.class));
+        } catch (DataAccessException e) {
+            present = false;
+        }
+
+        if (!present) {
+            log.warn("Ограничение EX_BOOKINGS_APPROVED_OVERLAP отсутствует, " +
+                    "подтверждения бронирований одной вещи выполняются с блокировкой вещи");
+        }
+    }
+
+    public boolean isPresent() {
+        return present;
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,8 +12,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.dto.GetBookingCountsDto;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
 import ru.practicum.shareit.marker.ToLog;
+import ru.practicum.shareit.user.Actor;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.util.List;
 
@@ -27,29 +31,47 @@ public class BookingController {
     private final BookingService bookingService;
 
     @GetMapping
-    public List<GetBookingDto> getUserBookings(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                               @RequestParam(defaultValue = "all") String state,
-                                               @RequestParam(defaultValue = "0") int from,
-                                               @RequestParam(defaultValue = "20") int size) {
-        return bookingService.getUserBookings(userId, state, from, size);
+    public ResponseEntity<List<GetBookingDto>> getUserBookings(@Actor long userId,
+                                                               @RequestParam(defaultValue = "all") String state,
+                                                               @RequestParam(defaultValue = "0") int from,
+                                                               @RequestParam(defaultValue = "20") int size,
+                                                               @RequestParam(required = false) String cursor) {
+        return PageCursor.toResponse(
+                bookingService.getUserBookings(userId, state, from, size, PageCursor.decodeTimed(cursor)),
+                size,
+                booking -> PageCursor.of(booking.getStart(), booking.getId()));
     }
 
     @GetMapping("/owner")
-    public List<GetBookingDto> getOwnerBookings(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                                @RequestParam(defaultValue = "all") String state,
-                                                @RequestParam(defaultValue = "0") int from,
-                                                @RequestParam(defaultValue = "20") int size) {
-        return bookingService.getOwnerBookings(userId, state, from, size);
+    public ResponseEntity<List<GetBookingDto>> getOwnerBookings(@Actor long userId,
+                                                                @RequestParam(defaultValue = "all") String state,
+                                                                @RequestParam(defaultValue = "0") int from,
+                                                                @RequestParam(defaultValue = "20") int size,
+                                                                @RequestParam(required = false) String cursor) {
+        return PageCursor.toResponse(
+                bookingService.getOwnerBookings(userId, state, from, size, PageCursor.decodeTimed(cursor)),
+                size,
+                booking -> PageCursor.of(booking.getStart(), booking.getId()));
+    }
+
+    @GetMapping("/counts")
+    public GetBookingCountsDto getUserBookingCounts(@Actor long userId) {
+        return bookingService.getUserBookingCounts(userId);
+    }
+
+    @GetMapping("/owner/counts")
+    public GetBookingCountsDto getOwnerBookingCounts(@Actor long userId) {
+        return bookingService.getOwnerBookingCounts(userId);
     }
 
     @GetMapping("/{bookingId}")
-    public GetBookingDto getBookingByUserOwner(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+    public GetBookingDto getBookingByUserOwner(@Actor long userId,
                                                @PathVariable long bookingId) {
         return bookingService.getBookingByUserOwner(userId, bookingId);
     }
 
     @PostMapping
-    public GetBookingDto create(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+    public GetBookingDto create(@Actor long userId,
                                 @RequestBody CreateBookingDto createBookingDto) {
         return bookingService.create(userId, createBookingDto);
     }
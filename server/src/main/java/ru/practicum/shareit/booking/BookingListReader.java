@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.GetBookingDto;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reads the booking lists of a booker or an item owner, newest start first, starting after {@code after}.
+ */
+public interface BookingListReader {
+
+    List<GetBookingDto> findByBooker(User booker, State state, LocalDateTime currentTime, PageCursor after,
+                                     Pageable pageable);
+
+    List<GetBookingDto> findByItemOwner(User owner, State state, LocalDateTime currentTime, PageCursor after,
+                                        Pageable pageable);
+}
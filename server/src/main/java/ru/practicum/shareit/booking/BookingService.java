@@ -1,15 +1,21 @@
 package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.dto.GetBookingCountsDto;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.util.List;
 
 public interface BookingService {
 
-    List<GetBookingDto> getUserBookings(long userId, String state, int from, int size);
+    List<GetBookingDto> getUserBookings(long userId, String state, int from, int size, PageCursor cursor);
 
-    List<GetBookingDto> getOwnerBookings(long userId, String state, int from, int size);
+    List<GetBookingDto> getOwnerBookings(long userId, String state, int from, int size, PageCursor cursor);
+
+    GetBookingCountsDto getUserBookingCounts(long userId);
+
+    GetBookingCountsDto getOwnerBookingCounts(long userId);
 
     GetBookingDto getBookingByUserOwner(long userId, long bookingId);
 
@@ -2,10 +2,13 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.dto.GetBookingCountsDto;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
@@ -15,13 +18,13 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemStorage;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.mapper.BookingMapper;
-import ru.practicum.shareit.user.UserStorage;
+import ru.practicum.shareit.user.ActorContext;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.util.OffsetBasedPageRequest;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.util.Constants.SORT_BY_START_DATE_DESC;
 
@@ -31,103 +34,69 @@ import static ru.practicum.shareit.util.Constants.SORT_BY_START_DATE_DESC;
 @Transactional
 public class BookingServiceImpl implements BookingService {
     private final BookingStorage bookingStorage;
-    private final UserStorage userStorage;
+    private final ActorContext actorContext;
     private final ItemStorage itemStorage;
+    private final BookingTimelineCache bookingTimelines;
+    private final CompletedBookingCache completedBookings;
+    private final BookingListReader bookingListReader;
+    private final ApprovedOverlapConstraint approvedOverlapConstraint;
 
     @Transactional(readOnly = true)
     @Override
-    public List<GetBookingDto> getUserBookings(long userId, @NotNull String stateString, int from, int size) {
-        User user = userStorage.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден")
-        );
+    public List<GetBookingDto> getUserBookings(long userId, @NotNull String stateString, int from, int size,
+                                               @Nullable PageCursor cursor) {
+        User user = actorContext.getReference(userId);
 
         State state;
 
         state = State.valueOf(stateString.toUpperCase());
         LocalDateTime currentMoment = LocalDateTime.now();
-        List<Booking> bookings;
-
-        Pageable pageable = new OffsetBasedPageRequest(from, size, SORT_BY_START_DATE_DESC);
-
-        switch (state) {
-            case ALL:
-                bookings = bookingStorage.findAllByBooker(user, pageable);
-                break;
-            case CURRENT:
-                bookings = bookingStorage.findAllByBookerAndCurrent(user, currentMoment, pageable);
-                break;
-            case PAST:
-                bookings = bookingStorage.findAllByBookerAndPast(user, currentMoment, pageable);
-                break;
-            case FUTURE:
-                bookings = bookingStorage.findAllByBookerAndFuture(user, currentMoment, pageable);
-                break;
-            case WAITING:
-                bookings = bookingStorage.findAllByBookerAndStatus(user, Status.WAITING, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingStorage.findAllByBookerAndStatus(user, Status.REJECTED, pageable);
-                break;
-            default:
-                bookings = List.of();
-        }
 
-        return bookings
-                .stream()
-                .map(BookingMapper::toGetBookingDtoFromBooking)
-                .collect(Collectors.toList());
+        PageCursor after = cursor != null ? cursor : PageCursor.FIRST_DESC;
+        Pageable pageable = new OffsetBasedPageRequest(cursor != null ? 0 : from, size, SORT_BY_START_DATE_DESC);
+
+        return bookingListReader.findByBooker(user, state, currentMoment, after, pageable);
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<GetBookingDto> getOwnerBookings(long userId, @NotNull String stateString, int from, int size) {
-        User user = userStorage.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден")
-        );
+    public List<GetBookingDto> getOwnerBookings(long userId, @NotNull String stateString, int from, int size,
+                                                @Nullable PageCursor cursor) {
+        User user = actorContext.getReference(userId);
 
         State state;
 
         state = State.valueOf(stateString.toUpperCase());
         LocalDateTime currentMoment = LocalDateTime.now();
-        List<Booking> bookings;
-
-        Pageable pageable = new OffsetBasedPageRequest(from, size, SORT_BY_START_DATE_DESC);
-
-        switch (state) {
-            case ALL:
-                bookings = bookingStorage.findAllByItemOwner(user, pageable);
-                break;
-            case CURRENT:
-                bookings = bookingStorage.findAllByItemOwnerAndCurrent(user, currentMoment, pageable);
-                break;
-            case PAST:
-                bookings = bookingStorage.findAllByItemOwnerAndPast(user, currentMoment, pageable);
-                break;
-            case FUTURE:
-                bookings = bookingStorage.findAllByItemOwnerAndFuture(user, currentMoment, pageable);
-                break;
-            case WAITING:
-                bookings = bookingStorage.findAllByItemOwnerAndStatus(user, Status.WAITING, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingStorage.findAllByItemOwnerAndStatus(user, Status.REJECTED, pageable);
-                break;
-            default:
-                bookings = List.of();
-        }
 
-        return bookings
-                .stream()
-                .map(BookingMapper::toGetBookingDtoFromBooking)
-                .collect(Collectors.toList());
+        PageCursor after = cursor != null ? cursor : PageCursor.FIRST_DESC;
+        Pageable pageable = new OffsetBasedPageRequest(cursor != null ? 0 : from, size, SORT_BY_START_DATE_DESC);
+
+        return bookingListReader.findByItemOwner(user, state, currentMoment, after, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public GetBookingCountsDto getUserBookingCounts(long userId) {
+        actorContext.check(userId);
+
+        return BookingMapper.toGetBookingCountsDtoFromBookingCounts(
+                bookingStorage.countByBookerId(userId, LocalDateTime.now()));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public GetBookingCountsDto getOwnerBookingCounts(long userId) {
+        actorContext.check(userId);
+
+        return BookingMapper.toGetBookingCountsDtoFromBookingCounts(
+                bookingStorage.countByItemOwnerId(userId, LocalDateTime.now()));
     }
 
     @Transactional(readOnly = true)
     @Override
     public GetBookingDto getBookingByUserOwner(long userId, long bookingId) {
-        userStorage.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден")
-        );
+        actorContext.check(userId);
         Booking booking = bookingStorage.findById(bookingId).orElseThrow(
                 () -> new NotFoundException("Бронирование не найдено")
         );
@@ -141,9 +110,7 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public GetBookingDto create(long userId, @NotNull CreateBookingDto createBookingDto) {
-        User user = userStorage.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден")
-        );
+        User user = actorContext.getReference(userId);
 
         Item item = itemStorage.findById(createBookingDto.getItemId()).orElseThrow(
                 () -> new NotFoundException("Вещь не найдена")
@@ -157,6 +124,8 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("Нельзя забронировать свою вещь");
         }
 
+        checkNotBooked(item.getId(), createBookingDto.getStart(), createBookingDto.getEnd());
+
         Booking booking = BookingMapper.toBookingFromCreateBookingDto(createBookingDto);
         booking.setBooker(user);
         booking.setItem(item);
@@ -167,30 +136,67 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public GetBookingDto approveBooking(long userId, long bookingId, Boolean approved) {
-        userStorage.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден")
-        );
+        Status status = approved ? Status.APPROVED : Status.REJECTED;
+
+        if (status == Status.APPROVED && !approvedOverlapConstraint.isPresent()) {
+            // without the exclusion constraint two approvals of one item could both pass the overlap check
+            itemStorage.lockByBookingId(bookingId);
+        }
+
+        int updated;
+        try {
+            updated = bookingStorage.updateStatusIfWaiting(bookingId, userId, status.name());
+        } catch (DataIntegrityViolationException e) {
+            throw new NotAvailableException("Вещь уже забронирована на эти даты");
+        }
+
+        if (updated == 0) {
+            throw getApproveFailure(userId, bookingId);
+        }
+
         Booking booking = bookingStorage.findById(bookingId).orElseThrow(
                 () -> new NotFoundException("Бронирование не найдено")
         );
 
-        if (booking.getItem().getOwner().getId() != userId) {
-            throw new NotFoundException("Бронирование не найдено");
+        if (status == Status.APPROVED) {
+            bookingTimelines.onApproved(booking);
         }
+        completedBookings.onStatusChanged(booking);
+
+        return BookingMapper.toGetBookingDtoFromBooking(booking);
+    }
+
+    /**
+     * Finds out why the conditional update of a booking status did not change any row.
+     */
+    private RuntimeException getApproveFailure(long userId, long bookingId) {
+        actorContext.check(userId);
 
-        Status status;
+        Booking booking = bookingStorage.findById(bookingId).orElse(null);
 
-        if (approved) {
-            if (booking.getStatus().equals(Status.APPROVED)) {
-                throw new NotAvailableException("Бронирование уже подтверждено");
-            }
-            status = Status.APPROVED;
-        } else {
-            status = Status.REJECTED;
+        if (booking == null || booking.getItem().getOwner().getId() != userId) {
+            return new NotFoundException("Бронирование не найдено");
         }
 
-        booking.setStatus(status);
+        switch (booking.getStatus()) {
+            case APPROVED:
+                return new NotAvailableException("Бронирование уже подтверждено");
+            case REJECTED:
+                return new NotAvailableException("Бронирование уже отклонено");
+            default:
+                return new NotAvailableException("Вещь уже забронирована на эти даты");
+        }
+    }
 
-        return BookingMapper.toGetBookingDtoFromBooking(bookingStorage.save(booking));
+    /**
+     * Approved bookings of an item never overlap, so ordered by start they are ordered by end as well:
+     * the only one that can intersect {@code [start, end)} is the last one starting before {@code end}.
+     */
+    private void checkNotBooked(long itemId, LocalDateTime start, LocalDateTime end) {
+        bookingStorage.findFirstByItemIdAndStatusAndStartDateBeforeOrderByStartDateDesc(itemId, Status.APPROVED, end)
+                .filter(previous -> previous.getEndDate().isAfter(start))
+                .ifPresent(previous -> {
+                    throw new NotAvailableException("Вещь уже забронирована на эти даты");
+                });
     }
 }
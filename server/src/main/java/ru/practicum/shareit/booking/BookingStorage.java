@@ -3,16 +3,23 @@ package ru.practicum.shareit.booking;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCounts;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES;
+
 public interface BookingStorage extends JpaRepository<Booking, Long> {
 
     @Query("select b from Booking b " +
@@ -21,103 +28,246 @@ public interface BookingStorage extends JpaRepository<Booking, Long> {
             "where b.id = :id ")
     @NotNull Optional<Booking> findById(@Param("id") @NotNull Long id);
 
+    Optional<Booking> findFirstByItemIdAndStatusAndStartDateBeforeOrderByStartDateDesc(long itemId,
+                                                                                       Status status,
+                                                                                       LocalDateTime end);
+
+    /**
+     * Sets the status of a WAITING booking of an item owned by {@code ownerId}. Approval also requires that
+     * no approved booking of the item overlaps; as approved bookings never overlap each other, only the last
+     * one starting before the end of this booking has to be checked.
+     *
+     * @return number of updated rows, 0 if any condition does not hold
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "bookings"))
+    @Query(value = "update bookings b set status = :status " +
+            "where b.id = :id " +
+            "   and b.status = 'WAITING' " +
+            "   and exists (select 1 from items i where i.id = b.item_id and i.owner_id = :ownerId) " +
+            "   and (:status <> 'APPROVED' or not exists (" +
+            "       select 1 from bookings p " +
+            "       where p.item_id = b.item_id " +
+            "           and p.status = 'APPROVED' " +
+            "           and p.end_date > b.start_date " +
+            "           and p.start_date = (" +
+            "               select max(l.start_date) from bookings l " +
+            "               where l.item_id = b.item_id " +
+            "                   and l.status = 'APPROVED' " +
+            "                   and l.start_date < b.end_date)))",
+            nativeQuery = true)
+    int updateStatusIfWaiting(@Param("id") long bookingId,
+                              @Param("ownerId") long ownerId,
+                              @Param("status") String status);
+
+    boolean existsByItemIdAndBookerIdAndStatusAndEndDateBefore(long itemId,
+                                                               long bookerId,
+                                                               Status status,
+                                                               LocalDateTime time);
+
+    List<Booking> findAllByItemIdAndStatusAndEndDateAfterOrderByStartDate(long itemId,
+                                                                         Status status,
+                                                                         LocalDateTime time);
+
+    @Query(value = "select id, start_date, end_date, item_id, booker_id, status from (" +
+            "   select b.*, row_number() over (partition by b.item_id order by b.start_date desc, b.id desc) as rn " +
+            "   from bookings b " +
+            "   where b.item_id in (:ids) " +
+            "       and b.status = 'APPROVED' " +
+            "       and b.start_date < :time) last_bookings " +
+            "where rn = 1 " +
+            "union all " +
+            "select id, start_date, end_date, item_id, booker_id, status from (" +
+            "   select b.*, row_number() over (partition by b.item_id order by b.start_date, b.id) as rn " +
+            "   from bookings b " +
+            "   where b.item_id in (:ids) " +
+            "       and b.status = 'APPROVED' " +
+            "       and b.start_date > :time) next_bookings " +
+            "where rn = 1",
+            nativeQuery = true)
+    List<Booking> findLastAndNextApprovedByItemIds(@Param("ids") @NotNull Collection<Long> itemIds,
+                                                   @Param("time") LocalDateTime currentTime);
+
     @Query(value = "select b from Booking b " +
             "join fetch b.booker bk " +
             "join fetch b.item " +
-            "where bk = :user ",
+            "where bk = :user " +
+            "   and b.startDate <= :cursorStart " +
+            "   and (b.startDate < :cursorStart or b.id < :cursorId)",
     countQuery = "select b from Booking b " +
             "where b.booker = :user ")
-    List<Booking> findAllByBooker(@Param("user") User booker, Pageable pageable);
+    List<Booking> findAllByBooker(@Param("user") User booker,
+                                  @Param("cursorStart") LocalDateTime cursorStart,
+                                  @Param("cursorId") long cursorId,
+                                  Pageable pageable);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.booker bk " +
             "join fetch b.item " +
             "where bk = :user " +
             "   and b.startDate < :time " +
-            "   and b.endDate > :time",
+            "   and b.endDate > :time " +
+            "   and b.startDate <= :cursorStart " +
+            "   and (b.startDate < :cursorStart or b.id < :cursorId)",
             countQuery = "select b from Booking b " +
                     "where b.booker = :user " +
                     "   and b.startDate < :time " +
                     "   and b.endDate > :time")
-    List<Booking> findAllByBookerAndCurrent(@Param("user") User booker, @Param("time") LocalDateTime currentTime, Pageable pageable);
+    List<Booking> findAllByBookerAndCurrent(@Param("user") User booker,
+                                            @Param("time") LocalDateTime currentTime,
+                                            @Param("cursorStart") LocalDateTime cursorStart,
+                                            @Param("cursorId") long cursorId,
+                                            Pageable pageable);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.booker bk " +
             "join fetch b.item " +
             "where bk = :user " +
-            "   and b.endDate < :time",
+            "   and b.endDate < :time " +
+            "   and b.startDate <= :cursorStart " +
+            "   and (b.startDate < :cursorStart or b.id < :cursorId)",
             countQuery = "select b from Booking b " +
                     "where b.booker = :user " +
                     "   and b.endDate < :time")
-    List<Booking> findAllByBookerAndPast(@Param("user") User booker, @Param("time") LocalDateTime currentTime, Pageable pageable);
+    List<Booking> findAllByBookerAndPast(@Param("user") User booker,
+                                         @Param("time") LocalDateTime currentTime,
+                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                         @Param("cursorId") long cursorId,
+                                         Pageable pageable);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.booker bk " +
             "join fetch b.item " +
             "where bk = :user " +
-            "   and b.startDate > :time",
+            "   and b.startDate > :time " +
+            "   and b.startDate <= :cursorStart " +
+            "   and (b.startDate < :cursorStart or b.id < :cursorId)",
             countQuery = "select b from Booking b " +
                     "where b.booker = :user " +
                     "   and b.startDate > :time")
-    List<Booking> findAllByBookerAndFuture(@Param("user") User booker, @Param("time") LocalDateTime currentTime, Pageable pageable);
+    List<Booking> findAllByBookerAndFuture(@Param("user") User booker,
+                                           @Param("time") LocalDateTime currentTime,
+                                           @Param("cursorStart") LocalDateTime cursorStart,
+                                           @Param("cursorId") long cursorId,
+                                           Pageable pageable);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.booker bk " +
             "join fetch b.item " +
             "where bk = :user " +
-            "   and b.status = :status",
+            "   and b.status = :status " +
+            "   and b.startDate <= :cursorStart " +
+            "   and (b.startDate < :cursorStart or b.id < :cursorId)",
             countQuery = "select b from Booking b " +
                     "where b.booker = :user " +
                     "   and b.status = :status")
-    List<Booking> findAllByBookerAndStatus(@Param("user") User booker, @Param("status") Status status, Pageable pageable);
+    List<Booking> findAllByBookerAndStatus(@Param("user") User booker,
+                                           @Param("status") Status status,
+                                           @Param("cursorStart") LocalDateTime cursorStart,
+                                           @Param("cursorId") long cursorId,
+                                           Pageable pageable);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.booker " +
             "join fetch b.item " +
-            "where b.item.owner = :user ",
+            "where b.item.owner = :user " +
+            "   and b.startDate <= :cursorStart " +
+            "   and (b.startDate < :cursorStart or b.id < :cursorId)",
             countQuery = "select b from Booking b " +
                     "where b.item.owner= :user ")
-    List<Booking> findAllByItemOwner(@Param("user") User itemOwner, Pageable pageable);
+    List<Booking> findAllByItemOwner(@Param("user") User itemOwner,
+                                     @Param("cursorStart") LocalDateTime cursorStart,
+                                     @Param("cursorId") long cursorId,
+                                     Pageable pageable);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.booker bk " +
             "join fetch b.item i " +
             "where i.owner = :user " +
             "   and b.startDate < :time " +
-            "   and b.endDate > :time",
+            "   and b.endDate > :time " +
+            "   and b.startDate <= :cursorStart " +
+            "   and (b.startDate < :cursorStart or b.id < :cursorId)",
             countQuery = "select b from Booking b " +
                     "where b.item.owner = :user " +
                     "   and b.startDate < :time " +
                     "   and b.endDate > :time")
-    List<Booking> findAllByItemOwnerAndCurrent(@Param("user") User itemOwner, @Param("time") LocalDateTime currentTime, Pageable pageable);
+    List<Booking> findAllByItemOwnerAndCurrent(@Param("user") User itemOwner,
+                                               @Param("time") LocalDateTime currentTime,
+                                               @Param("cursorStart") LocalDateTime cursorStart,
+                                               @Param("cursorId") long cursorId,
+                                               Pageable pageable);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.booker bk " +
             "join fetch b.item i " +
             "where i.owner = :user " +
-            "   and b.endDate < :time",
+            "   and b.endDate < :time " +
+            "   and b.startDate <= :cursorStart " +
+            "   and (b.startDate < :cursorStart or b.id < :cursorId)",
             countQuery = "select b from Booking b " +
                     "where b.item.owner = :user " +
                     "   and b.endDate < :time")
-    List<Booking> findAllByItemOwnerAndPast(@Param("user") User itemOwner, @Param("time") LocalDateTime currentTime, Pageable pageable);
+    List<Booking> findAllByItemOwnerAndPast(@Param("user") User itemOwner,
+                                            @Param("time") LocalDateTime currentTime,
+                                            @Param("cursorStart") LocalDateTime cursorStart,
+                                            @Param("cursorId") long cursorId,
+                                            Pageable pageable);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.booker bk " +
             "join fetch b.item i " +
             "where i.owner = :user " +
-            "   and b.startDate > :time",
+            "   and b.startDate > :time " +
+            "   and b.startDate <= :cursorStart " +
+            "   and (b.startDate < :cursorStart or b.id < :cursorId)",
             countQuery = "select b from Booking b " +
                     "where b.item.owner = :user " +
                     "   and b.startDate > :time")
-    List<Booking> findAllByItemOwnerAndFuture(@Param("user") User itemOwner, @Param("time") LocalDateTime currentTime, Pageable pageable);
+    List<Booking> findAllByItemOwnerAndFuture(@Param("user") User itemOwner,
+                                              @Param("time") LocalDateTime currentTime,
+                                              @Param("cursorStart") LocalDateTime cursorStart,
+                                              @Param("cursorId") long cursorId,
+                                              Pageable pageable);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.booker bk " +
             "join fetch b.item i " +
             "where i.owner = :user " +
-            "   and b.status = :status",
+            "   and b.status = :status " +
+            "   and b.startDate <= :cursorStart " +
+            "   and (b.startDate < :cursorStart or b.id < :cursorId)",
             countQuery = "select b from Booking b " +
                     "where b.item.owner = :user " +
                     "   and b.status = :status")
-    List<Booking> findAllByItemOwnerAndStatus(@Param("user") User itemOwner, @Param("status") Status status, Pageable pageable);
+    List<Booking> findAllByItemOwnerAndStatus(@Param("user") User itemOwner,
+                                              @Param("status") Status status,
+                                              @Param("cursorStart") LocalDateTime cursorStart,
+                                              @Param("cursorId") long cursorId,
+                                              Pageable pageable);
+
+    @Query("select count(b) as allCount, " +
+            "   coalesce(sum(case when b.startDate < :time and b.endDate > :time then 1 else 0 end), 0) as currentCount, " +
+            "   coalesce(sum(case when b.endDate < :time then 1 else 0 end), 0) as pastCount, " +
+            "   coalesce(sum(case when b.startDate > :time then 1 else 0 end), 0) as futureCount, " +
+            "   coalesce(sum(case when b.status = ru.practicum.shareit.booking.model.Status.WAITING " +
+            "       then 1 else 0 end), 0) as waitingCount, " +
+            "   coalesce(sum(case when b.status = ru.practicum.shareit.booking.model.Status.REJECTED " +
+            "       then 1 else 0 end), 0) as rejectedCount " +
+            "from Booking b " +
+            "where b.booker.id = :userId ")
+    BookingCounts countByBookerId(@Param("userId") long userId, @Param("time") LocalDateTime currentTime);
+
+    @Query("select count(b) as allCount, " +
+            "   coalesce(sum(case when b.startDate < :time and b.endDate > :time then 1 else 0 end), 0) as currentCount, " +
+            "   coalesce(sum(case when b.endDate < :time then 1 else 0 end), 0) as pastCount, " +
+            "   coalesce(sum(case when b.startDate > :time then 1 else 0 end), 0) as futureCount, " +
+            "   coalesce(sum(case when b.status = ru.practicum.shareit.booking.model.Status.WAITING " +
+            "       then 1 else 0 end), 0) as waitingCount, " +
+            "   coalesce(sum(case when b.status = ru.practicum.shareit.booking.model.Status.REJECTED " +
+            "       then 1 else 0 end), 0) as rejectedCount " +
+            "from Booking b " +
+            "join b.item i " +
+            "where i.owner.id = :userId ")
+    BookingCounts countByItemOwnerId(@Param("userId") long userId, @Param("time") LocalDateTime currentTime);
 }
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.booking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable set of approved booking intervals of one item as sorted epoch-second {@code [start, end)} pairs.
+ * Approved bookings of an item do not overlap, so the ends are sorted along with the starts.
+ */
+final class BookingTimeline {
+    static final BookingTimeline EMPTY = new BookingTimeline(new long[0], new long[0]);
+
+    private final long[] starts;
+    private final long[] ends;
+
+    private BookingTimeline(long[] starts, long[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    /**
+     * Wraps intervals already sorted by start.
+     */
+    static BookingTimeline of(long[] starts, long[] ends) {
+        return new BookingTimeline(starts, ends);
+    }
+
+    int size() {
+        return starts.length;
+    }
+
+    BookingTimeline with(long start, long end) {
+        int position = lowerBound(start);
+        if (position < starts.length && starts[position] == start && ends[position] == end) {
+            return this;
+        }
+
+        return new BookingTimeline(insert(starts, position, start), insert(ends, position, end));
+    }
+
+    /**
+     * Returns the gaps between intervals within {@code [from, to)} as {@code {start, end}} pairs.
+     */
+    List<long[]> freeWindows(long from, long to) {
+        List<long[]> windows = new ArrayList<>();
+        int position = lowerBound(from);
+        if (position > 0 && ends[position - 1] > from) {
+            position--;
+        }
+
+        long free = from;
+        for (; position < starts.length && starts[position] < to; position++) {
+            if (starts[position] > free) {
+                windows.add(new long[]{free, starts[position]});
+            }
+            free = Math.max(free, ends[position]);
+        }
+        if (free < to) {
+            windows.add(new long[]{free, to});
+        }
+
+        return windows;
+    }
+
+    private int lowerBound(long start) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] < start) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static long[] insert(long[] array, int position, long value) {
+        long[] result = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, position, result, position + 1, array.length - position);
+        result[position] = value;
+        return result;
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.GetFreeWindowDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Keeps a {@link BookingTimeline} of approved bookings per item, so that availability is answered
+ * without reading the bookings table. A timeline holds the bookings not yet finished when it was loaded,
+ * is updated by the booking service after each committed approval and expires after a while, which also
+ * picks up approvals made by other instances. Availability is only answered from now on.
+ */
+@Component
+public class BookingTimelineCache {
+    private final BookingStorage bookingStorage;
+    private final Cache<Long, BookingTimeline> timelines;
+
+    public BookingTimelineCache(BookingStorage bookingStorage,
+                                MeterRegistry meterRegistry,
+                                @Value("${shareit.bookings.timeline-cache.maximum-size:10000}") long maximumSize,
+                                @Value("${shareit.bookings.timeline-cache.expire-after-write:1m}")
+                                Duration expireAfterWrite) {
+        this.bookingStorage = bookingStorage;
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, timelines, "booking-timelines");
+    }
+
+    /**
+     * Has to be called in a read-write transaction: a timeline loaded from a lagging replica
+     * would be served until it expires.
+     */
+    public List<GetFreeWindowDto> getFreeWindows(long itemId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!to.isAfter(now)) {
+            return List.of();
+        }
+
+        // the load runs under the cache's lock for this key, so updates committed meanwhile wait for it
+        BookingTimeline timeline = timelines.get(itemId, id -> load(id, now));
+
+        return timeline.freeWindows(toSeconds(from.isAfter(now) ? from : now), toSeconds(to))
+                .stream()
+                .map(window -> GetFreeWindowDto.builder()
+                        .start(toDateTime(window[0]))
+                        .end(toDateTime(window[1]))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    public void onApproved(Booking booking) {
+        long itemId = booking.getItem().getId();
+        long start = toSeconds(booking.getStartDate());
+        long end = toSeconds(booking.getEndDate());
+
+        afterCommit(() -> timelines.asMap().computeIfPresent(itemId, (id, timeline) -> timeline.with(start, end)));
+    }
+
+    public void onItemDeleted(long itemId) {
+        afterCommit(() -> timelines.invalidate(itemId));
+    }
+
+    /**
+     * Bookings of any item may go with a deleted user, so all timelines are dropped.
+     */
+    public void onUserDeleted() {
+        afterCommit(timelines::invalidateAll);
+    }
+
+    private BookingTimeline load(long itemId, LocalDateTime now) {
+        List<Booking> bookings = bookingStorage.findAllByItemIdAndStatusAndEndDateAfterOrderByStartDate(
+                itemId, Status.APPROVED, now);
+        long[] starts = new long[bookings.size()];
+        long[] ends = new long[bookings.size()];
+        for (int i = 0; i < bookings.size(); i++) {
+            starts[i] = toSeconds(bookings.get(i).getStartDate());
+            ends[i] = toSeconds(bookings.get(i).getEndDate());
+        }
+        return BookingTimeline.of(starts, ends);
+    }
+
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long seconds) {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Answers whether a user has finished an approved booking of an item, which is required to comment on it.
+ * Only positive answers are remembered, per item and booker, in a bounded cache: a finished booking stays finished
+ * until its status changes.
+ */
+@Component
+public class CompletedBookingCache {
+    private final BookingStorage bookingStorage;
+    private final boolean enabled;
+    private final Cache<Key, Boolean> completed;
+
+    public CompletedBookingCache(BookingStorage bookingStorage,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${shareit.bookings.completed-cache.enabled:true}") boolean enabled,
+                                 @Value("${shareit.bookings.completed-cache.maximum-size:100000}") long maximumSize,
+                                 @Value("${shareit.bookings.completed-cache.expire-after-write:1h}")
+                                 Duration expireAfterWrite) {
+        this.bookingStorage = bookingStorage;
+        this.enabled = enabled;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "completed-bookings");
+    }
+
+    public boolean hasCompletedBooking(long itemId, long bookerId) {
+        Key key = new Key(itemId, bookerId);
+        if (completed.getIfPresent(key) != null) {
+            return true;
+        }
+
+        boolean found = bookingStorage.existsByItemIdAndBookerIdAndStatusAndEndDateBefore(
+                itemId, bookerId, Status.APPROVED, LocalDateTime.now());
+
+        if (found && enabled) {
+            completed.put(key, Boolean.TRUE);
+        }
+
+        return found;
+    }
+
+    public void onStatusChanged(Booking booking) {
+        Key key = new Key(booking.getItem().getId(), booking.getBooker().getId());
+
+        afterCommit(() -> completed.invalidate(key));
+    }
+
+    /**
+     * Bookings of any item may go with a deleted user, so all answers are dropped. Answers for a deleted item
+     * are left to expire: comments on it are rejected before the cache is asked, and item ids are not reused.
+     */
+    public void onUserDeleted() {
+        afterCommit(completed::invalidateAll);
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        private final long itemId;
+        private final long bookerId;
+    }
+}
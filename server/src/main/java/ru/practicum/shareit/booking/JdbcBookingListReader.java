@@ -0,0 +1,106 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.GetBookingDto;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.GetBookingForItemDto;
+import ru.practicum.shareit.user.dto.GetUserForGetBookingDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.PageCursor;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reads booking lists with plain SQL, selecting only the columns of {@link GetBookingDto} and building
+ * the DTOs directly, without loading bookings, bookers and items into the persistence context.
+ * Pending changes of the current transaction are flushed first, as Hibernate does before its own queries.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.bookings.list.mode", havingValue = "jdbc")
+public class JdbcBookingListReader implements BookingListReader {
+    private static final String SELECT = "select b.id, b.start_date, b.end_date, b.status, b.booker_id, " +
+            "   b.item_id, i.name as item_name " +
+            "from bookings b " +
+            "join items i on i.id = b.item_id ";
+    private static final String PAGE = "   and b.start_date <= :cursorStart " +
+            "   and (b.start_date < :cursorStart or b.id < :cursorId) " +
+            "order by b.start_date desc, b.id desc " +
+            "limit :limit offset :offset";
+
+    private static final RowMapper<GetBookingDto> ROW_MAPPER = (rs, rowNum) -> GetBookingDto.builder()
+            .id(rs.getLong("id"))
+            .start(rs.getObject("start_date", LocalDateTime.class))
+            .end(rs.getObject("end_date", LocalDateTime.class))
+            .status(Status.valueOf(rs.getString("status")))
+            .booker(GetUserForGetBookingDto.builder()
+                    .id(rs.getLong("booker_id"))
+                    .build())
+            .item(GetBookingForItemDto.builder()
+                    .id(rs.getLong("item_id"))
+                    .name(rs.getString("item_name"))
+                    .build())
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public List<GetBookingDto> findByBooker(User booker, State state, LocalDateTime currentTime, PageCursor after,
+                                            Pageable pageable) {
+        return find("where b.booker_id = :userId ", booker, state, currentTime, after, pageable);
+    }
+
+    @Override
+    public List<GetBookingDto> findByItemOwner(User owner, State state, LocalDateTime currentTime, PageCursor after,
+                                               Pageable pageable) {
+        return find("where i.owner_id = :userId ", owner, state, currentTime, after, pageable);
+    }
+
+    private List<GetBookingDto> find(String where, User user, State state, LocalDateTime currentTime,
+                                     PageCursor after, Pageable pageable) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", user.getId())
+                .addValue("time", currentTime)
+                .addValue("cursorStart", after.getTime())
+                .addValue("cursorId", after.getId())
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+
+        String condition;
+
+        switch (state) {
+            case ALL:
+                condition = "";
+                break;
+            case CURRENT:
+                condition = "   and b.start_date < :time and b.end_date > :time ";
+                break;
+            case PAST:
+                condition = "   and b.end_date < :time ";
+                break;
+            case FUTURE:
+                condition = "   and b.start_date > :time ";
+                break;
+            case WAITING:
+            case REJECTED:
+                condition = "   and b.status = :status ";
+                parameters.addValue("status", state.name());
+                break;
+            default:
+                return List.of();
+        }
+
+        entityManager.flush();
+        return jdbcTemplate.query(SELECT + where + condition + PAGE, parameters, ROW_MAPPER);
+    }
+}
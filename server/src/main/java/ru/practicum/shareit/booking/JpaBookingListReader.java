@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.GetBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.mapper.BookingMapper;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.bookings.list.mode", havingValue = "jpa", matchIfMissing = true)
+public class JpaBookingListReader implements BookingListReader {
+    private final BookingStorage bookingStorage;
+
+    @Override
+    public List<GetBookingDto> findByBooker(User booker, State state, LocalDateTime currentTime, PageCursor after,
+                                            Pageable pageable) {
+        List<Booking> bookings;
+
+        switch (state) {
+            case ALL:
+                bookings = bookingStorage.findAllByBooker(booker, after.getTime(), after.getId(), pageable);
+                break;
+            case CURRENT:
+                bookings = bookingStorage.findAllByBookerAndCurrent(booker, currentTime, after.getTime(), after.getId(), pageable);
+                break;
+            case PAST:
+                bookings = bookingStorage.findAllByBookerAndPast(booker, currentTime, after.getTime(), after.getId(), pageable);
+                break;
+            case FUTURE:
+                bookings = bookingStorage.findAllByBookerAndFuture(booker, currentTime, after.getTime(), after.getId(), pageable);
+                break;
+            case WAITING:
+                bookings = bookingStorage.findAllByBookerAndStatus(booker, Status.WAITING, after.getTime(), after.getId(), pageable);
+                break;
+            case REJECTED:
+                bookings = bookingStorage.findAllByBookerAndStatus(booker, Status.REJECTED, after.getTime(), after.getId(), pageable);
+                break;
+            default:
+                bookings = List.of();
+        }
+
+        return toDtos(bookings);
+    }
+
+    @Override
+    public List<GetBookingDto> findByItemOwner(User owner, State state, LocalDateTime currentTime, PageCursor after,
+                                               Pageable pageable) {
+        List<Booking> bookings;
+
+        switch (state) {
+            case ALL:
+                bookings = bookingStorage.findAllByItemOwner(owner, after.getTime(), after.getId(), pageable);
+                break;
+            case CURRENT:
+                bookings = bookingStorage.findAllByItemOwnerAndCurrent(owner, currentTime, after.getTime(), after.getId(), pageable);
+                break;
+            case PAST:
+                bookings = bookingStorage.findAllByItemOwnerAndPast(owner, currentTime, after.getTime(), after.getId(), pageable);
+                break;
+            case FUTURE:
+                bookings = bookingStorage.findAllByItemOwnerAndFuture(owner, currentTime, after.getTime(), after.getId(), pageable);
+                break;
+            case WAITING:
+                bookings = bookingStorage.findAllByItemOwnerAndStatus(owner, Status.WAITING, after.getTime(), after.getId(), pageable);
+                break;
+            case REJECTED:
+                bookings = bookingStorage.findAllByItemOwnerAndStatus(owner, Status.REJECTED, after.getTime(), after.getId(), pageable);
+                break;
+            default:
+                bookings = List.of();
+        }
+
+        return toDtos(bookings);
+    }
+
+    private static List<GetBookingDto> toDtos(List<Booking> bookings) {
+        return bookings
+                .stream()
+                .map(BookingMapper::toGetBookingDtoFromBooking)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.model;
+
+/**
+ * Number of bookings in every {@link State}, computed in a single aggregate query.
+ */
+public interface BookingCounts {
+    long getAllCount();
+
+    long getCurrentCount();
+
+    long getPastCount();
+
+    long getFutureCount();
+
+    long getWaitingCount();
+
+    long getRejectedCount();
+}
@@ -1,7 +1,18 @@
 package ru.practicum.shareit.item;
 
+import org.jetbrains.annotations.NotNull;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CommentStorage extends JpaRepository<Comment, Long> {
+
+    @Query("select c from Comment c " +
+            "join fetch c.author " +
+            "where c.item.id in :ids ")
+    List<Comment> findAllByItemIdIn(@Param("ids") @NotNull Collection<Long> itemIds);
 }
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Searches items through the PostgreSQL {@code items.search_vector} column and its GIN index,
+ * ranking matches by {@code ts_rank}. Every word of the text is matched as a prefix.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.items.search.mode", havingValue = "fulltext")
+public class FullTextItemSearchEngine implements ItemSearchEngine {
+    private final ItemStorage itemStorage;
+
+    @Override
+    public List<Long> search(String text, Pageable pageable) {
+        String query = toTsQuery(text);
+
+        if (query.isEmpty()) {
+            return List.of();
+        }
+
+        return itemStorage.fullTextSearch(query, pageable.getPageSize(), pageable.getOffset())
+                .stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+
+    static String toTsQuery(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
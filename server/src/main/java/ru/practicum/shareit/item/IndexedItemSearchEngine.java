@@ -0,0 +1,64 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Answers item search from an in-process {@link ItemSearchIndex} of available items.
+ * The index is built on startup and kept current by the item and user services after each commit.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.items.search.mode", havingValue = "index")
+@Slf4j
+public class IndexedItemSearchEngine implements ItemSearchEngine {
+    private final ItemStorage itemStorage;
+    private final ItemSearchIndex index = new ItemSearchIndex();
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void buildIndex() {
+        itemStorage.findAllAvailableForSearch()
+                .forEach(item -> index.put(item.getId(), item.getName(), item.getDescription()));
+        log.info("Индекс поиска вещей построен, проиндексировано {} вещей", index.size());
+    }
+
+    @Override
+    public List<Long> search(String text, Pageable pageable) {
+        return Arrays.stream(index.search(text, pageable.getOffset(), pageable.getPageSize()))
+                .boxed()
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void onItemSaved(Item item) {
+        long id = item.getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+
+        afterCommit(() -> {
+            if (available) {
+                index.put(id, name, description);
+            } else {
+                index.remove(id);
+            }
+        });
+    }
+
+    @Override
+    public void onItemDeleted(long itemId) {
+        afterCommit(() -> index.remove(itemId));
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -14,10 +16,14 @@ import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
 import ru.practicum.shareit.item.dto.GetCommentDto;
+import ru.practicum.shareit.item.dto.GetFreeWindowDto;
 import ru.practicum.shareit.item.dto.GetItemDto;
 import ru.practicum.shareit.marker.ToLog;
+import ru.practicum.shareit.user.Actor;
+import ru.practicum.shareit.util.PageCursor;
 
 import javax.validation.constraints.NotBlank;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static ru.practicum.shareit.util.Constants.REQUEST_HEADER_USER_ID;
@@ -31,47 +37,67 @@ public class ItemController {
     private final ItemService itemService;
 
     @GetMapping
-    public List<GetItemDto> getAllByUserId(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                           @RequestParam(defaultValue = "0") int from,
-                                           @RequestParam(defaultValue = "20") int size) {
-        return itemService.getAllByUserId(userId, from, size);
+    public ResponseEntity<List<GetItemDto>> getAllByUserId(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                           @RequestParam(defaultValue = "0") int from,
+                                                           @RequestParam(defaultValue = "20") int size,
+                                                           @RequestParam(required = false) String cursor) {
+        return PageCursor.toResponse(
+                itemService.getAllByUserId(userId, from, size, PageCursor.decode(cursor)),
+                size,
+                item -> PageCursor.of(item.getId()));
     }
 
     @GetMapping("/{itemId}")
-    public GetItemDto getByItemId(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+    public GetItemDto getByItemId(@Actor long userId,
                                   @PathVariable long itemId) {
         return itemService.getOneById(userId, itemId);
     }
 
     @PostMapping
-    public GetItemDto create(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+    public GetItemDto create(@Actor long userId,
                              @RequestBody CreateUpdateItemDto itemDto) {
         return itemService.create(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public List<GetItemDto> createAll(@Actor long userId,
+                                      @RequestBody List<CreateUpdateItemDto> itemDtos) {
+        return itemService.createAll(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
-    public GetItemDto update(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+    public GetItemDto update(@Actor long userId,
                              @PathVariable long itemId,
                              @RequestBody CreateUpdateItemDto itemDto) {
         return itemService.update(userId, itemId, itemDto);
     }
 
     @DeleteMapping("/{itemId}")
-    public void delete(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+    public void delete(@Actor long userId,
                        @PathVariable long itemId) {
         itemService.delete(userId, itemId);
     }
 
     @GetMapping("/search")
-    public List<GetItemDto> search(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+    public List<GetItemDto> search(@Actor long userId,
                                    @RequestParam @NotBlank String text,
                                    @RequestParam(defaultValue = "0") int from,
                                    @RequestParam(defaultValue = "20") int size) {
         return itemService.search(userId, text, from, size);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public List<GetFreeWindowDto> getAvailability(@Actor long userId,
+                                                  @PathVariable long itemId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime to) {
+        return itemService.getAvailability(userId, itemId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public GetCommentDto createComment(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+    public GetCommentDto createComment(@Actor long userId,
                                        @PathVariable long itemId,
                                        @RequestBody CreateCommentDto commentDto) {
         return itemService.createComment(userId, itemId, commentDto);
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+
+    List<Long> search(String text, Pageable pageable);
+
+    default void onItemSaved(Item item) {
+    }
+
+    default void onItemDeleted(long itemId) {
+    }
+}
@@ -0,0 +1,189 @@
+package ru.practicum.shareit.item;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from character trigrams to sorted item id postings. Every candidate found
+ * through the postings is checked against the stored text, so matching is the same as
+ * {@code lower(name) like '%text%' or lower(description) like '%text%'}.
+ */
+class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, String> documents = new HashMap<>();
+    private final Postings allIds = new Postings();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    void put(long id, String name, String description) {
+        String document = (name + FIELD_SEPARATOR + description).toLowerCase(Locale.ROOT);
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+            documents.put(id, document);
+            allIds.add(id);
+            for (String gram : grams(document)) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns ids of matching items in ascending order, skipping the first {@code offset} matches.
+     */
+    long[] search(String text, long offset, int limit) {
+        String query = text.toLowerCase(Locale.ROOT);
+        long[] result = new long[limit];
+        int found = 0;
+        long skipped = 0;
+
+        lock.readLock().lock();
+        try {
+            Postings candidates = query.length() < GRAM_LENGTH ? allIds : candidates(query);
+
+            for (int i = 0; i < candidates.size && found < limit; i++) {
+                long id = candidates.ids[i];
+                if (documents.get(id).contains(query)) {
+                    if (skipped < offset) {
+                        skipped++;
+                    } else {
+                        result[found++] = id;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return Arrays.copyOf(result, found);
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Postings candidates(String query) {
+        Postings[] lists = grams(query).stream()
+                .map(gram -> postings.getOrDefault(gram, Postings.EMPTY))
+                .sorted((a, b) -> Integer.compare(a.size, b.size))
+                .toArray(Postings[]::new);
+
+        Postings result = lists[0];
+        for (int i = 1; i < lists.length && result.size > 0; i++) {
+            result = result.intersect(lists[i]);
+        }
+        return result;
+    }
+
+    private void removeUnlocked(long id) {
+        String document = documents.remove(id);
+
+        if (document == null) {
+            return;
+        }
+
+        allIds.remove(id);
+        for (String gram : grams(document)) {
+            Postings list = postings.get(gram);
+            if (list != null) {
+                list.remove(id);
+                if (list.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static final class Postings {
+        private static final Postings EMPTY = new Postings();
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+
+            int insertAt = -index - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                size--;
+            }
+        }
+
+        Postings intersect(Postings other) {
+            Postings result = new Postings();
+            result.ids = new long[Math.min(size, other.size)];
+
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (ids[i] < other.ids[j]) {
+                    i++;
+                } else if (ids[i] > other.ids[j]) {
+                    j++;
+                } else {
+                    result.ids[result.size++] = ids[i];
+                    i++;
+                    j++;
+                }
+            }
+            return result;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+    }
+}
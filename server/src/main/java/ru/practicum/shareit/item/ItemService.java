@@ -3,23 +3,30 @@ package ru.practicum.shareit.item;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
 import ru.practicum.shareit.item.dto.GetCommentDto;
+import ru.practicum.shareit.item.dto.GetFreeWindowDto;
 import ru.practicum.shareit.item.dto.GetItemDto;
+import ru.practicum.shareit.util.PageCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
 
-    List<GetItemDto> getAllByUserId(long userId, int from, int size);
+    List<GetItemDto> getAllByUserId(long userId, int from, int size, PageCursor cursor);
 
     GetItemDto getOneById(long userId, long itemId);
 
     GetItemDto create(long userId, CreateUpdateItemDto createUpdateItemDto);
 
+    List<GetItemDto> createAll(long userId, List<CreateUpdateItemDto> createUpdateItemDtos);
+
     GetItemDto update(long userId, long itemId, CreateUpdateItemDto updateItemDto);
 
     void delete(long userId, long itemId);
 
     List<GetItemDto> search(long userId, String text, int from, int size);
 
+    List<GetFreeWindowDto> getAvailability(long userId, long itemId, LocalDateTime from, LocalDateTime to);
+
     GetCommentDto createComment(long userId, long itemId, CreateCommentDto commentDto);
 }
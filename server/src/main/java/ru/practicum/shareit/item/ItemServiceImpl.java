@@ -1,16 +1,21 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
-import org.jetbrains.annotations.NotNull;
 import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.BookingStorage;
+import ru.practicum.shareit.booking.BookingTimelineCache;
+import ru.practicum.shareit.booking.CompletedBookingCache;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.MethodArgumentException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.NotValidDateException;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
 import ru.practicum.shareit.item.dto.GetCommentDto;
+import ru.practicum.shareit.item.dto.GetFreeWindowDto;
 import ru.practicum.shareit.item.dto.GetItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
@@ -18,13 +23,19 @@ import ru.practicum.shareit.mapper.CommentMapper;
 import ru.practicum.shareit.mapper.ItemMapper;
 import ru.practicum.shareit.request.ItemRequestStorage;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.user.UserStorage;
+import ru.practicum.shareit.user.ActorContext;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.BatchWriter;
 import ru.practicum.shareit.util.OffsetBasedPageRequest;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.util.Constants.SORT_BY_ID_ASC;
@@ -35,19 +46,32 @@ import static ru.practicum.shareit.util.Constants.SORT_BY_ID_ASC;
 @Transactional
 public class ItemServiceImpl implements ItemService {
     private final ItemStorage itemStorage;
-    private final UserStorage userStorage;
+    private final BookingStorage bookingStorage;
+    private final ActorContext actorContext;
     private final CommentStorage commentStorage;
     private final ItemRequestStorage requestStorage;
+    private final ItemSearchEngine itemSearchEngine;
+    private final BookingTimelineCache bookingTimelines;
+    private final CompletedBookingCache completedBookings;
+    private final BatchWriter batchWriter;
 
     @Transactional(readOnly = true)
     @Override
-    public List<GetItemDto> getAllByUserId(long userId, int from, int size) {
-        Pageable pageable = new OffsetBasedPageRequest(from, size, SORT_BY_ID_ASC);
-        List<Item> items = itemStorage.findAllByOwnerId(userId, pageable).getContent();
+    public List<GetItemDto> getAllByUserId(long userId, int from, int size, @Nullable PageCursor cursor) {
+        PageCursor after = cursor != null ? cursor : PageCursor.FIRST_ASC;
+        Pageable pageable = new OffsetBasedPageRequest(cursor != null ? 0 : from, size, SORT_BY_ID_ASC);
+        List<Long> ids = itemStorage.findIdsByOwnerId(userId, after.getId(), pageable);
+        List<Item> items = findAllByIdsInOrder(ids);
 
         if (!items.isEmpty() && items.get(0).getOwner().getId() == userId) {
+            Map<Boolean, Map<Long, Booking>> bookings = findLastAndNextBookings(ids);
+            Map<Long, List<Comment>> comments = findCommentsByItemIds(ids);
+
             return items.stream()
-                    .map(ItemMapper::toGetItemWIthBookingDtoFromItem)
+                    .map(item -> ItemMapper.toGetItemWIthBookingDtoFromItem(item,
+                            bookings.get(true).get(item.getId()),
+                            bookings.get(false).get(item.getId()),
+                            comments.getOrDefault(item.getId(), List.of())))
                     .collect(Collectors.toList());
         } else {
             return new ArrayList<>();
@@ -57,16 +81,19 @@ public class ItemServiceImpl implements ItemService {
     @Transactional(readOnly = true)
     @Override
     public GetItemDto getOneById(long userId, long itemId) {
-        userStorage.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден")
-        );
+        actorContext.check(userId);
 
         Item item = itemStorage.findById(itemId).orElseThrow(
                 () -> new NotFoundException("Вещь не найдена")
         );
 
         if (item.getOwner().getId() == userId) {
-            return ItemMapper.toGetItemWIthBookingDtoFromItem(item);
+            Map<Boolean, Map<Long, Booking>> bookings = findLastAndNextBookings(List.of(itemId));
+
+            return ItemMapper.toGetItemWIthBookingDtoFromItem(item,
+                    bookings.get(true).get(itemId),
+                    bookings.get(false).get(itemId),
+                    item.getComments());
         } else {
             return ItemMapper.toGetItemDtoFromItem(item);
         }
@@ -74,9 +101,7 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public GetItemDto create(long userId, CreateUpdateItemDto createUpdateItemDto) {
-        User user = userStorage.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден")
-        );
+        User user = actorContext.getReference(userId);
 
         Item item = ItemMapper.toItemFromCreateUpdateItemDto(createUpdateItemDto);
         item.setOwner(user);
@@ -88,22 +113,59 @@ public class ItemServiceImpl implements ItemService {
             item.setRequest(request);
         }
 
-        return ItemMapper.toGetItemDtoFromItem(itemStorage.save(item));
+        Item savedItem = itemStorage.save(item);
+        itemSearchEngine.onItemSaved(savedItem);
+
+        return ItemMapper.toGetItemDtoFromItem(savedItem);
+    }
+
+    @Override
+    public List<GetItemDto> createAll(long userId, List<CreateUpdateItemDto> createUpdateItemDtos) {
+        User user = actorContext.getReference(userId);
+
+        Set<Long> requestIds = createUpdateItemDtos
+                .stream()
+                .map(CreateUpdateItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Map.of() : requestStorage.findAllById(requestIds)
+                .stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        if (requests.size() != requestIds.size()) {
+            throw new NotFoundException("Запрос на вещь не найден");
+        }
+
+        List<Item> items = createUpdateItemDtos
+                .stream()
+                .map(itemDto -> {
+                    Item item = ItemMapper.toItemFromCreateUpdateItemDto(itemDto);
+                    item.setOwner(user);
+                    item.setRequest(itemDto.getRequestId() != null ? requests.get(itemDto.getRequestId()) : null);
+                    return item;
+                })
+                .collect(Collectors.toList());
+
+        List<Item> savedItems = batchWriter.saveAll(itemStorage, items);
+        savedItems.forEach(itemSearchEngine::onItemSaved);
+
+        return savedItems
+                .stream()
+                .map(ItemMapper::toGetItemDtoFromItem)
+                .collect(Collectors.toList());
     }
 
     @Override
     public GetItemDto update(long userId, long itemId, CreateUpdateItemDto updateItemDto) {
-        User user = userStorage.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден")
-        );
+        actorContext.check(userId);
 
-        Item item = itemStorage.findById(itemId).orElseThrow(
+        Item item = itemStorage.findWithOwnerById(itemId).orElseThrow(
                 () -> new NotFoundException("Вещь не найдена")
         );
 
-        if (!item.getOwner().equals(user)) {
+        if (item.getOwner().getId() != userId) {
             throw new NotFoundException(
-                    String.format("У пользователя с ID = %s не найдена вещь с ID = %s", user.getId(), item.getId())
+                    String.format("У пользователя с ID = %s не найдена вещь с ID = %s", userId, item.getId())
             );
         }
 
@@ -119,60 +181,77 @@ public class ItemServiceImpl implements ItemService {
             item.setAvailable(updateItemDto.getAvailable());
         }
 
-        return ItemMapper.toGetItemDtoFromItem(itemStorage.save(item));
+        Item savedItem = itemStorage.save(item);
+        itemSearchEngine.onItemSaved(savedItem);
+
+        return ItemMapper.toGetItemDtoFromItem(savedItem,
+                findCommentsByItemIds(List.of(itemId)).getOrDefault(itemId, List.of()));
     }
 
     @Override
     public void delete(long userId, long itemId) {
-        User user = userStorage.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден")
-        );
+        actorContext.check(userId);
 
-        Item item = itemStorage.findById(itemId).orElseThrow(
+        long ownerId = itemStorage.findOwnerIdById(itemId).orElseThrow(
                 () -> new NotFoundException("Вещь не найдена")
         );
 
-        if (!item.getOwner().equals(user)) {
+        if (ownerId != userId) {
             throw new NotFoundException(
-                    String.format("У пользователя с ID = %s не найдена вещь с ID = %s", user.getId(), item.getId())
+                    String.format("У пользователя с ID = %s не найдена вещь с ID = %s", userId, itemId)
             );
         }
 
-        itemStorage.deleteById(itemId);
+        itemStorage.deleteItemById(itemId);
+        itemSearchEngine.onItemDeleted(itemId);
+        bookingTimelines.onItemDeleted(itemId);
+    }
+
+    // not read-only: a timeline missing from the cache is loaded from the primary, not from a replica
+    @Override
+    public List<GetFreeWindowDto> getAvailability(long userId, long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new NotValidDateException("Дата начала должна быть раньше даты окончания");
+        }
+
+        actorContext.check(userId);
+
+        if (!itemStorage.existsById(itemId)) {
+            throw new NotFoundException("Вещь не найдена");
+        }
+
+        return bookingTimelines.getFreeWindows(itemId, from, to);
     }
 
     @Transactional(readOnly = true)
     @Override
     public List<GetItemDto> search(long userId, String text, int from, int size) {
-        userStorage.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден")
-        );
+        actorContext.check(userId);
 
         Pageable pageable = new OffsetBasedPageRequest(from, size, SORT_BY_ID_ASC);
 
-        return itemStorage.search(text, pageable)
-                .getContent()
+        List<Long> ids = itemSearchEngine.search(text, pageable);
+        Map<Long, List<Comment>> comments = findCommentsByItemIds(ids);
+
+        return findAllByIdsInOrder(ids)
                 .stream()
-                .map(ItemMapper::toGetItemDtoFromItem)
+                .map(item -> ItemMapper.toGetItemDtoFromItem(item, comments.getOrDefault(item.getId(), List.of())))
                 .collect(Collectors.toList());
     }
 
     @Override
     public GetCommentDto createComment(long userId, long itemId, CreateCommentDto commentDto) {
-        User user = userStorage.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден")
-        );
+        User user = actorContext.get(userId);
 
-        Item item = itemStorage.findById(itemId).orElseThrow(
+        Item item = itemStorage.findWithOwnerById(itemId).orElseThrow(
                 () -> new NotFoundException("Вещь не найдена")
         );
 
-        if (isBookingByUser(user, item)) {
+        if (completedBookings.hasCompletedBooking(itemId, userId)) {
             Comment comment = CommentMapper.toCommentFromCreateCommentDto(commentDto);
 
             comment.setAuthor(user);
             comment.setItem(item);
-            comment.setAuthor(user);
             comment.setCreated(LocalDateTime.now());
 
             return CommentMapper.toGetCommentDtoFromComment(commentStorage.save(comment));
@@ -182,11 +261,40 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    private @NotNull Boolean isBookingByUser(User user, @NotNull Item item) {
+    private List<Item> findAllByIdsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Item> items = itemStorage.findAllByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the last (key {@code true}) and the next (key {@code false}) approved booking of each item by item id.
+     */
+    private Map<Boolean, Map<Long, Booking>> findLastAndNextBookings(List<Long> ids) {
         LocalDateTime currentTime = LocalDateTime.now();
-        return item.getBookings() != null && item.getBookings().stream()
-                .anyMatch(t -> t.getBooker().equals(user)
-                        && t.getEndDate().isBefore(currentTime)
-                && t.getStatus().equals(Status.APPROVED));
+
+        return bookingStorage.findLastAndNextApprovedByItemIds(ids, currentTime)
+                .stream()
+                .collect(Collectors.partitioningBy(booking -> booking.getStartDate().isBefore(currentTime),
+                        Collectors.toMap(booking -> booking.getItem().getId(), Function.identity())));
+    }
+
+    private Map<Long, List<Comment>> findCommentsByItemIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        return commentStorage.findAllByItemIdIn(ids)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
     }
 }
@@ -1,48 +1,89 @@
 package ru.practicum.shareit.item;
 
 import org.jetbrains.annotations.NotNull;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 public interface ItemStorage extends JpaRepository<Item, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("select i " +
             "from Item i " +
             "join fetch i.owner " +
             "left join fetch i.request " +
-            "left join fetch i.bookings " +
-            "left join fetch i.comments " +
+            "left join fetch i.comments c " +
+            "left join fetch c.author " +
             "where i.id = :id ")
     @NotNull Optional<Item> findById(@Param("id") @NotNull Long id);
 
-    @Query(value = "select i " +
-            "from Item i " +
-            "join fetch i.owner o " +
-            "left join fetch i.request " +
-            "left join fetch i.bookings " +
-            "left join fetch i.comments " +
-            "where o.id = :id ",
-            countQuery = "select count(i) from Item i " +
-                    "where i.owner.id = :id")
-    Page<Item> findAllByOwnerId(@Param("id") @NotNull Long userId, Pageable pageable);
-
-    @Query(value = "select i from Item i " +
-            "join fetch i.owner o " +
-            "left join fetch i.request r " +
-            "left join fetch i.bookings b " +
-            "left join fetch i.comments c " +
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select i from Item i " +
+            "join fetch i.owner " +
+            "where i.id = :id ")
+    Optional<Item> findWithOwnerById(@Param("id") long id);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select i.owner.id from Item i where i.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i " +
+            "where i.id = (select b.item.id from Booking b where b.id = :bookingId) ")
+    Optional<Item> lockByBookingId(@Param("bookingId") long bookingId);
+
+    @Modifying
+    @Query("delete from Item i where i.id = :id")
+    void deleteItemById(@Param("id") long id);
+
+    @Query("select i.id from Item i " +
+            "where i.owner.id = :id " +
+            "   and i.id > :cursorId ")
+    List<Long> findIdsByOwnerId(@Param("id") @NotNull Long userId,
+                                @Param("cursorId") long cursorId,
+                                Pageable pageable);
+
+    @Query("select i.id from Item i " +
+            "left join i.request r " +
+            "where i.owner.id = :id " +
+            "   or r.requester.id = :id ")
+    List<Long> findAllIdsByOwnerIdOrRequesterId(@Param("id") long userId);
+
+    @Query("select i.id from Item i " +
             "where (lower(i.name) like lower(concat('%', :text, '%')) " +
             "   or lower(i.description) like lower(concat('%', :text, '%'))) " +
-            "   and i.available = true ",
-            countQuery = "select count(i) from Item i " +
-                    "where (lower(i.name) like lower(concat('%', :text, '%')) " +
-                    "   or lower(i.description) like lower(concat('%', :text, '%'))) " +
-                    "   and i.available = true ")
-    Page<Item> search(@Param("text") @NotNull String text, Pageable pageable);
+            "   and i.available = true ")
+    List<Long> searchIds(@Param("text") @NotNull String text, Pageable pageable);
+
+    @Query("select i from Item i " +
+            "join fetch i.owner " +
+            "left join fetch i.request " +
+            "where i.id in :ids ")
+    List<Item> findAllByIdIn(@Param("ids") @NotNull Collection<Long> ids);
+
+    @Query("select i from Item i where i.available = true")
+    List<Item> findAllAvailableForSearch();
+
+    @Query(value = "select i.* from items i " +
+            "where i.is_available = true " +
+            "   and i.search_vector @@ to_tsquery('simple', :query) " +
+            "order by ts_rank(i.search_vector, to_tsquery('simple', :query)) desc, i.id " +
+            "limit :limit offset :offset",
+            nativeQuery = true)
+    List<Item> fullTextSearch(@Param("query") @NotNull String query,
+                              @Param("limit") int limit,
+                              @Param("offset") long offset);
 }
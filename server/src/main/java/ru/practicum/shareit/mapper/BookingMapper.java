@@ -2,9 +2,11 @@ package ru.practicum.shareit.mapper;
 
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.dto.GetBookingCountsDto;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
 import ru.practicum.shareit.booking.dto.GetBookingForGetItemDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCounts;
 
 @UtilityClass
 public class BookingMapper {
@@ -36,4 +38,15 @@ public class BookingMapper {
                 .item(ItemMapper.toGetBookingDtoFromItem(booking.getItem()))
                 .build();
     }
+
+    public GetBookingCountsDto toGetBookingCountsDtoFromBookingCounts(BookingCounts bookingCounts) {
+        return GetBookingCountsDto.builder()
+                .all(bookingCounts.getAllCount())
+                .current(bookingCounts.getCurrentCount())
+                .past(bookingCounts.getPastCount())
+                .future(bookingCounts.getFutureCount())
+                .waiting(bookingCounts.getWaitingCount())
+                .rejected(bookingCounts.getRejectedCount())
+                .build();
+    }
 }
@@ -2,31 +2,32 @@ package ru.practicum.shareit.mapper;
 
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
 import ru.practicum.shareit.item.dto.GetBookingForItemDto;
 import ru.practicum.shareit.item.dto.GetCommentDto;
 import ru.practicum.shareit.item.dto.GetItemDto;
 import ru.practicum.shareit.item.dto.GetItemForGetItemRequestDto;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 
-import java.time.LocalDateTime;
-import java.util.Set;
+import java.util.Collection;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.util.ServerConstants.orderByCreatedDesc;
-import static ru.practicum.shareit.util.ServerConstants.orderByStartDateAsc;
-import static ru.practicum.shareit.util.ServerConstants.orderByStartDateDesc;
 
 @UtilityClass
 public class ItemMapper {
     public GetItemDto toGetItemDtoFromItem(Item item) {
+        return toGetItemDtoFromItem(item, item.getComments());
+    }
+
+    public GetItemDto toGetItemDtoFromItem(Item item, Collection<Comment> itemComments) {
         SortedSet<GetCommentDto> comments = new TreeSet<>(orderByCreatedDesc);
 
-        if (item.getComments() != null) {
-            comments.addAll(item.getComments()
+        if (itemComments != null) {
+            comments.addAll(itemComments
                     .stream()
                     .map(CommentMapper::toGetCommentDtoFromComment)
                     .collect(Collectors.toSet()));
@@ -42,33 +43,14 @@ public class ItemMapper {
                 .build();
     }
 
-    public GetItemDto toGetItemWIthBookingDtoFromItem(Item item) {
-        LocalDateTime currentTime = LocalDateTime.now();
-
-        GetItemDto getItemDto = toGetItemDtoFromItem(item);
+    public GetItemDto toGetItemWIthBookingDtoFromItem(Item item,
+                                                     Booking lastBooking,
+                                                     Booking nextBooking,
+                                                     Collection<Comment> comments) {
+        GetItemDto getItemDto = toGetItemDtoFromItem(item, comments);
 
-        Set<Booking> bookings = item.getBookings();
-
-        if (bookings != null) {
-            Booking lastBooking = bookings
-                    .stream()
-                    .sorted(orderByStartDateDesc)
-                    .filter(t -> t.getStartDate().isBefore(currentTime) &&
-                            t.getStatus().equals(Status.APPROVED))
-                    .findFirst()
-                    .orElse(null);
-
-            Booking nextBooking = bookings
-                    .stream()
-                    .sorted(orderByStartDateAsc)
-                    .filter(t -> t.getStartDate().isAfter(currentTime) &&
-                            t.getStatus().equals(Status.APPROVED))
-                    .findFirst()
-                    .orElse(null);
-
-            getItemDto.setLastBooking(BookingMapper.toGetBookingForItemDtoFromBooking(lastBooking));
-            getItemDto.setNextBooking(BookingMapper.toGetBookingForItemDtoFromBooking(nextBooking));
-        }
+        getItemDto.setLastBooking(BookingMapper.toGetBookingForItemDtoFromBooking(lastBooking));
+        getItemDto.setNextBooking(BookingMapper.toGetBookingForItemDtoFromBooking(nextBooking));
 
         return getItemDto;
     }
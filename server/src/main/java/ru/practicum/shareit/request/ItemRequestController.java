@@ -1,21 +1,22 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.marker.ToLog;
+import ru.practicum.shareit.user.Actor;
 import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 import ru.practicum.shareit.request.dto.GetItemRequestDto;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.util.List;
 
-import static ru.practicum.shareit.util.Constants.REQUEST_HEADER_USER_ID;
 
 
 @RestController
@@ -26,25 +27,29 @@ public class ItemRequestController {
     private final ItemRequestService itemRequestService;
 
     @PostMapping
-    public GetItemRequestDto createRequest(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+    public GetItemRequestDto createRequest(@Actor long userId,
                                            @RequestBody CreateItemRequestDto itemRequestDto) {
         return itemRequestService.createRequest(userId, itemRequestDto);
     }
 
     @GetMapping
-    public List<GetItemRequestDto> getAllRequestsByUserId(@RequestHeader(REQUEST_HEADER_USER_ID) long userId) {
+    public List<GetItemRequestDto> getAllRequestsByUserId(@Actor long userId) {
         return itemRequestService.getAllRequestsByUserId(userId);
     }
 
     @GetMapping("/all")
-    public List<GetItemRequestDto> getAllRequests(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                                  @RequestParam(defaultValue = "0") int from,
-                                                  @RequestParam(defaultValue = "20") int size) {
-        return itemRequestService.getAllRequests(userId, from, size);
+    public ResponseEntity<List<GetItemRequestDto>> getAllRequests(@Actor long userId,
+                                                                  @RequestParam(defaultValue = "0") int from,
+                                                                  @RequestParam(defaultValue = "20") int size,
+                                                                  @RequestParam(required = false) String cursor) {
+        return PageCursor.toResponse(
+                itemRequestService.getAllRequests(userId, from, size, PageCursor.decodeTimed(cursor)),
+                size,
+                request -> PageCursor.of(request.getCreated(), request.getId()));
     }
 
     @GetMapping("/{requestId}")
-    public GetItemRequestDto getRequestById(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+    public GetItemRequestDto getRequestById(@Actor long userId,
                                             @PathVariable long requestId) {
         return itemRequestService.getRequestById(userId, requestId);
     }
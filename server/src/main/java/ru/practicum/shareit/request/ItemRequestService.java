@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 import ru.practicum.shareit.request.dto.GetItemRequestDto;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.util.List;
 
@@ -11,7 +12,7 @@ public interface ItemRequestService {
 
     List<GetItemRequestDto> getAllRequestsByUserId(long userId);
 
-    List<GetItemRequestDto> getAllRequests(long userId, int from, int size);
+    List<GetItemRequestDto> getAllRequests(long userId, int from, int size, PageCursor cursor);
 
     GetItemRequestDto getRequestById(long userId, long requestId);
 }
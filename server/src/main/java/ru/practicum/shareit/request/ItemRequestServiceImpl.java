@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -9,12 +10,17 @@ import ru.practicum.shareit.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 import ru.practicum.shareit.request.dto.GetItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.user.UserStorage;
+import ru.practicum.shareit.user.ActorContext;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.util.OffsetBasedPageRequest;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.util.Constants.SORT_BY_CREATED_DESC;
@@ -25,13 +31,11 @@ import static ru.practicum.shareit.util.Constants.SORT_BY_CREATED_DESC;
 @Transactional
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestStorage itemRequestStorage;
-    private final UserStorage userStorage;
+    private final ActorContext actorContext;
 
     @Override
     public GetItemRequestDto createRequest(long userId, CreateItemRequestDto itemRequestDto) {
-        User requester = userStorage.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден")
-        );
+        User requester = actorContext.getReference(userId);
 
         ItemRequest request = ItemRequestMapper.toItemRequestFromCreateItemRequestDto(itemRequestDto);
         request.setRequester(requester);
@@ -43,9 +47,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional(readOnly = true)
     public List<GetItemRequestDto> getAllRequestsByUserId(long userId) {
-        User requester = userStorage.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден")
-        );
+        User requester = actorContext.getReference(userId);
 
         return itemRequestStorage.getAllByRequester(requester, SORT_BY_CREATED_DESC)
                 .stream()
@@ -55,14 +57,15 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<GetItemRequestDto> getAllRequests(long userId, int from, int size) {
-        User requester = userStorage.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден")
-        );
+    public List<GetItemRequestDto> getAllRequests(long userId, int from, int size, @Nullable PageCursor cursor) {
+        User requester = actorContext.getReference(userId);
 
-        Pageable pageable = new OffsetBasedPageRequest(from, size, SORT_BY_CREATED_DESC);
+        PageCursor after = cursor != null ? cursor : PageCursor.FIRST_DESC;
+        Pageable pageable = new OffsetBasedPageRequest(cursor != null ? 0 : from, size, SORT_BY_CREATED_DESC);
 
-        return itemRequestStorage.getAllByRequesterNot(requester, pageable)
+        List<Long> ids = itemRequestStorage.findIdsByRequesterNot(requester, after.getTime(), after.getId(), pageable);
+
+        return findAllByIdsInOrder(ids)
                 .stream()
                 .map(ItemRequestMapper::toGetItemRequestDtoFromItemRequest)
                 .collect(Collectors.toList());
@@ -71,13 +74,26 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional(readOnly = true)
     public GetItemRequestDto getRequestById(long userId, long requestId) {
-        userStorage.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден")
-        );
+        actorContext.check(userId);
 
         return ItemRequestMapper.toGetItemRequestDtoFromItemRequest(
                 itemRequestStorage.findById(requestId).orElseThrow(() ->
                         new NotFoundException("Запрос на вещь не найден")
                 ));
     }
+
+    private List<ItemRequest> findAllByIdsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, ItemRequest> requests = itemRequestStorage.findAllByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        return ids.stream()
+                .map(requests::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 }
@@ -1,28 +1,50 @@
 package ru.practicum.shareit.request;
 
+import org.jetbrains.annotations.NotNull;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 public interface ItemRequestStorage extends JpaRepository<ItemRequest, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select r from ItemRequest r " +
+            "join fetch r.requester " +
+            "left join fetch r.items " +
+            "where r.id = :id ")
+    @NotNull Optional<ItemRequest> findById(@Param("id") @NotNull Long id);
+
     @Query("select r from ItemRequest r " +
             "join fetch r.requester u " +
             "left join fetch r.items i " +
             "where u = :user ")
     List<ItemRequest> getAllByRequester(@Param("user") User requester, Sort sort);
 
-    @Query(value = "select r from ItemRequest r " +
-            "join fetch r.requester u " +
-            "left join fetch r.items i " +
-            "where u != :user ",
-    countQuery = "select r from ItemRequest r " +
-            "where r.requester != :user ")
-    List<ItemRequest> getAllByRequesterNot(@Param("user") User requester, Pageable pageable);
+    @Query("select r.id from ItemRequest r " +
+            "where r.requester != :user " +
+            "   and r.created <= :cursorCreated " +
+            "   and (r.created < :cursorCreated or r.id < :cursorId)")
+    List<Long> findIdsByRequesterNot(@Param("user") User requester,
+                                     @Param("cursorCreated") LocalDateTime cursorCreated,
+                                     @Param("cursorId") long cursorId,
+                                     Pageable pageable);
+
+    @Query("select distinct r from ItemRequest r " +
+            "join fetch r.requester " +
+            "left join fetch r.items " +
+            "where r.id in :ids ")
+    List<ItemRequest> findAllByIdIn(@Param("ids") @NotNull Collection<Long> ids);
 }
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.user;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a {@code long} controller parameter to the id from {@code X-Sharer-User-Id}, after checking through
+ * {@link ActorContext} that the user exists. The user is then already resolved for the services of the request.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Actor {
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import static ru.practicum.shareit.util.Constants.REQUEST_HEADER_USER_ID;
+
+/**
+ * Resolves {@link Actor} parameters once per request. A missing or malformed header fails the same way
+ * {@code @RequestHeader} does.
+ */
+@RequiredArgsConstructor
+public class ActorArgumentResolver implements HandlerMethodArgumentResolver {
+    private final ActorContext actorContext;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(Actor.class);
+    }
+
+    @Override
+    public Object resolveArgument(@NonNull MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory)
+            throws MissingRequestHeaderException {
+        String header = webRequest.getHeader(REQUEST_HEADER_USER_ID);
+
+        if (header == null) {
+            throw new MissingRequestHeaderException(REQUEST_HEADER_USER_ID, parameter);
+        }
+
+        long userId;
+        try {
+            userId = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            throw new MethodArgumentTypeMismatchException(header, long.class, REQUEST_HEADER_USER_ID, parameter, e);
+        }
+
+        actorContext.check(userId);
+
+        return userId;
+    }
+}
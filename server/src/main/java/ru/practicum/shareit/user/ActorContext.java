@@ -0,0 +1,57 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.model.User;
+
+/**
+ * Resolves the user a request is made on behalf of. Within an HTTP request the user is looked up once, as a rule
+ * by {@link ActorArgumentResolver} before the controller runs, and kept in the request attributes; outside of one
+ * every call goes to {@link UserCache}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ActorContext {
+    private static final String ACTOR_ATTRIBUTE = ActorContext.class.getName() + ".ACTOR";
+
+    private final UserCache userCache;
+    private final UserStorage userStorage;
+
+    /**
+     * Returns a detached copy of the user, for when its fields are needed.
+     */
+    public User get(long userId) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        User actor = attributes != null
+                ? (User) attributes.getAttribute(ACTOR_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+
+        if (actor == null || actor.getId() != userId) {
+            actor = userCache.findById(userId).orElseThrow(
+                    () -> new NotFoundException("Пользователь не найден")
+            );
+
+            if (attributes != null) {
+                attributes.setAttribute(ACTOR_ATTRIBUTE, actor, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+
+        return actor;
+    }
+
+    public void check(long userId) {
+        get(userId);
+    }
+
+    /**
+     * Returns a reference to the user, for when only its id is needed, e.g. to link another entity to it.
+     */
+    public User getReference(long userId) {
+        check(userId);
+
+        return userStorage.getReferenceById(userId);
+    }
+}
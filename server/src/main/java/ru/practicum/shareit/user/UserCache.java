@@ -0,0 +1,57 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static ru.practicum.shareit.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Bounded cache of users in front of {@link UserStorage}, so that resolving the acting user
+ * does not cost a query per request. Callers get detached copies, which are only good for reading
+ * and for referencing the user from other entities.
+ */
+@Component
+public class UserCache {
+    private final UserStorage userStorage;
+    private final Cache<Long, User> users;
+
+    public UserCache(UserStorage userStorage,
+                     MeterRegistry meterRegistry,
+                     @Value("${shareit.users.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${shareit.users.cache.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.userStorage = userStorage;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+    }
+
+    public Optional<User> findById(long id) {
+        return Optional.ofNullable(get(id)).map(user -> user.toBuilder().build());
+    }
+
+    public boolean existsById(long id) {
+        return get(id) != null;
+    }
+
+    public void evict(long id) {
+        afterCommit(() -> users.invalidate(id));
+    }
+
+    private User get(long id) {
+        // missing users are not cached, the loader returning null leaves no entry
+        return users.get(id, key -> userStorage.findById(key)
+                .map(user -> user.toBuilder().build())
+                .orElse(null));
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.marker.ToLog;
 import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
 import ru.practicum.shareit.user.dto.GetUserDto;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.util.List;
 
@@ -26,10 +28,14 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping
-    public List<GetUserDto> getAll(
+    public ResponseEntity<List<GetUserDto>> getAll(
             @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "20") int size) {
-        return userService.getAll(from, size);
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+        return PageCursor.toResponse(
+                userService.getAll(from, size, PageCursor.decode(cursor)),
+                size,
+                user -> PageCursor.of(user.getId()));
     }
 
     @GetMapping("/{userId}")
@@ -42,6 +48,11 @@ public class UserController {
         return userService.create(createUpdateUserDto);
     }
 
+    @PostMapping("/batch")
+    public List<GetUserDto> createAll(@RequestBody List<CreateUpdateUserDto> createUpdateUserDtos) {
+        return userService.createAll(createUpdateUserDtos);
+    }
+
     @PatchMapping("/{userId}")
     public GetUserDto update(@PathVariable long userId,
                              @RequestBody CreateUpdateUserDto createUpdateUserDto) {
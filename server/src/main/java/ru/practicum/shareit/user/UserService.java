@@ -2,17 +2,20 @@ package ru.practicum.shareit.user;
 
 import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
 import ru.practicum.shareit.user.dto.GetUserDto;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.util.List;
 
 public interface UserService {
 
-    List<GetUserDto> getAll(int from, int size);
+    List<GetUserDto> getAll(int from, int size, PageCursor cursor);
 
     GetUserDto getById(long id);
 
     GetUserDto create(CreateUpdateUserDto createUpdateUserDto);
 
+    List<GetUserDto> createAll(List<CreateUpdateUserDto> createUpdateUserDtos);
+
     GetUserDto update(long id, CreateUpdateUserDto createUpdateUserDto);
 
     void deleteById(long id);
@@ -1,35 +1,54 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingTimelineCache;
+import ru.practicum.shareit.booking.CompletedBookingCache;
 import ru.practicum.shareit.exception.AlreadyExistsException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemSearchEngine;
+import ru.practicum.shareit.item.ItemStorage;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.mapper.UserMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
 import ru.practicum.shareit.user.dto.GetUserDto;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.BatchWriter;
 import ru.practicum.shareit.util.OffsetBasedPageRequest;
+import ru.practicum.shareit.util.PageCursor;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.util.Constants.SORT_BY_ID_ASC;
+import static ru.practicum.shareit.util.TransactionCallbacks.afterCommit;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class UserServiceImpl implements UserService {
     private final UserStorage userStorage;
+    private final UserCache userCache;
+    private final ItemStorage itemStorage;
+    private final ItemSearchEngine itemSearchEngine;
+    private final BookingTimelineCache bookingTimelines;
+    private final CompletedBookingCache completedBookings;
+    private final EntityManagerFactory entityManagerFactory;
+    private final BatchWriter batchWriter;
 
     @Transactional(readOnly = true)
     @Override
-    public List<GetUserDto> getAll(int from, int size) {
-        Pageable pageable = new OffsetBasedPageRequest(from, size, SORT_BY_ID_ASC);
-        return userStorage.findAll(pageable)
-                .getContent()
+    public List<GetUserDto> getAll(int from, int size, @Nullable PageCursor cursor) {
+        PageCursor after = cursor != null ? cursor : PageCursor.FIRST_ASC;
+        Pageable pageable = new OffsetBasedPageRequest(cursor != null ? 0 : from, size, SORT_BY_ID_ASC);
+        return userStorage.findAllAfter(after.getId(), pageable)
                 .stream()
                 .map(UserMapper::toGetUserDtoFromUser)
                 .collect(Collectors.toList());
@@ -38,7 +57,7 @@ public class UserServiceImpl implements UserService {
     @Transactional(readOnly = true)
     @Override
     public GetUserDto getById(long id) {
-        return UserMapper.toGetUserDtoFromUser(userStorage.findById(id).orElseThrow(
+        return UserMapper.toGetUserDtoFromUser(userCache.findById(id).orElseThrow(
                 () -> new NotFoundException("Пользователь не найден")
         ));
     }
@@ -47,7 +66,7 @@ public class UserServiceImpl implements UserService {
     public GetUserDto create(CreateUpdateUserDto createUpdateUserDto) {
         try {
             return UserMapper.toGetUserDtoFromUser(
-                    userStorage.save(UserMapper.toUserFromCreateUpdateUserDto(createUpdateUserDto))
+                    userStorage.saveAndFlush(UserMapper.toUserFromCreateUpdateUserDto(createUpdateUserDto))
             );
         } catch (DataIntegrityViolationException e) {
             throw new AlreadyExistsException(String.format(
@@ -56,6 +75,23 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @Override
+    public List<GetUserDto> createAll(List<CreateUpdateUserDto> createUpdateUserDtos) {
+        List<User> users = createUpdateUserDtos
+                .stream()
+                .map(UserMapper::toUserFromCreateUpdateUserDto)
+                .collect(Collectors.toList());
+
+        try {
+            return batchWriter.saveAll(userStorage, users)
+                    .stream()
+                    .map(UserMapper::toGetUserDtoFromUser)
+                    .collect(Collectors.toList());
+        } catch (DataIntegrityViolationException e) {
+            throw new AlreadyExistsException("Пользователь с одним из адресов уже зарегистрирован");
+        }
+    }
+
     @Override
     public GetUserDto update(long id, CreateUpdateUserDto createUpdateUserDto) {
         User user = userStorage.findById(id).orElseThrow(
@@ -70,6 +106,8 @@ public class UserServiceImpl implements UserService {
             user.setEmail(createUpdateUserDto.getEmail());
         }
 
+        userCache.evict(id);
+
         try {
             return UserMapper.toGetUserDtoFromUser(
                     userStorage.saveAndFlush(user)
@@ -87,6 +125,23 @@ public class UserServiceImpl implements UserService {
                 () -> new NotFoundException("Пользователь не найден")
         );
 
+        // the cascade deletes the user's items and the items answering the user's requests
+        List<Long> itemIds = itemStorage.findAllIdsByOwnerIdOrRequesterId(id);
+
         userStorage.deleteById(id);
+        userCache.evict(id);
+        itemIds.forEach(itemSearchEngine::onItemDeleted);
+        bookingTimelines.onUserDeleted();
+        completedBookings.onUserDeleted();
+        // items and requests of the user are deleted by the database cascade, past the second-level cache
+        afterCommit(this::evictCascadedFromSecondLevelCache);
+    }
+
+    private void evictCascadedFromSecondLevelCache() {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictEntityData(Item.class);
+        cache.evictEntityData(ItemRequest.class);
+        cache.evictCollectionData(ItemRequest.class.getName() + ".items");
+        cache.evictQueryRegions();
     }
 }
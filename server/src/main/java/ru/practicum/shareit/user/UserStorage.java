@@ -1,7 +1,16 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
 public interface UserStorage extends JpaRepository<User, Long> {
+
+    @Query("select u from User u " +
+            "where u.id > :cursorId ")
+    List<User> findAllAfter(@Param("cursorId") long cursorId, Pageable pageable);
 }
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Saves large lists of new entities in chunks of the JDBC batch size. Each chunk is flushed as one batch and then
+ * cleared from the persistence context, so a long list does not keep every entity managed until commit.
+ */
+@Component
+public class BatchWriter {
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public BatchWriter(EntityManager entityManager,
+                       @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the saved entities, detached. Fields other than the id of their lazy associations are not available.
+     */
+    public <T> List<T> saveAll(JpaRepository<T, ?> storage, List<T> entities) {
+        List<T> saved = new ArrayList<>(entities.size());
+
+        for (int from = 0; from < entities.size(); from += batchSize) {
+            saved.addAll(storage.saveAll(entities.subList(from, Math.min(from + batchSize, entities.size()))));
+            storage.flush();
+            entityManager.clear();
+        }
+
+        return saved;
+    }
+}
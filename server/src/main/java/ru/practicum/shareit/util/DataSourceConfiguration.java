@@ -0,0 +1,88 @@
+package ru.practicum.shareit.util;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The application {@link DataSource}. A {@link LazyConnectionDataSourceProxy} on top defers taking a physical
+ * connection until the first statement, so transactions answered from a cache or failing validation never
+ * borrow one from the pool; the time a connection is held is recorded per endpoint.
+ * <p>
+ * If {@code shareit.datasource.replica-urls} is set, read-only transactions go to these replicas and everything
+ * else to {@code spring.datasource.url}. Replicas share the driver, credentials and {@code spring.datasource.hikari}
+ * pool settings of the primary.
+ */
+@Configuration
+public class DataSourceConfiguration {
+    private static final String HIKARI_PROPERTIES = "spring.datasource.hikari";
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource primary = createPool(properties, environment, properties.determineUrl());
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "shareit.datasource.replica-urls")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${shareit.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${shareit.datasource.replica-health-check-interval:10s}") Duration healthCheckInterval) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = createPool(properties, environment, url);
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setReadOnly(true);
+            // a replica that is down must not keep the application from starting
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, healthCheckInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        DataSource target = replicaRoutingDataSource.getIfAvailable();
+        if (target == null) {
+            target = primaryDataSource;
+        }
+
+        // reads the default auto-commit and isolation through the untimed target: the registry is not ready yet
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(target);
+        dataSource.setTargetDataSource(new ConnectionHoldTimingDataSource(target, meterRegistry));
+        return dataSource;
+    }
+
+    private static HikariDataSource createPool(DataSourceProperties properties, Environment environment, String url) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind(HIKARI_PROPERTIES, Bindable.ofInstance(dataSource));
+        return dataSource;
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.regex.Pattern;
+
+/**
+ * ETags for single users, items and requests, computed from the response body. The gateway keeps these responses
+ * and revalidates them with {@code If-None-Match}, and an unchanged body is answered with 304 instead of being sent
+ * again. Other responses, lists in particular, are not buffered by the filter at all.
+ */
+@Configuration
+public class EtagConfiguration {
+    private static final Pattern SINGLE_RESOURCE = Pattern.compile("/(users|items|requests)/\\d+");
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(
+                new ShallowEtagHeaderFilter() {
+                    @Override
+                    protected boolean shouldNotFilter(HttpServletRequest request) {
+                        return !SINGLE_RESOURCE.matcher(request.getRequestURI()).matches();
+                    }
+                });
+        registration.addUrlPatterns("/users/*", "/items/*", "/requests/*");
+        return registration;
+    }
+}
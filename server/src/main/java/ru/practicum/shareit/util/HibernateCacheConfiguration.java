@@ -0,0 +1,65 @@
+package ru.practicum.shareit.util;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Regions of the Hibernate second-level cache. They are created up front with bounded on-heap Caffeine caches,
+ * in a cache manager of this application context only.
+ */
+@Configuration
+public class HibernateCacheConfiguration {
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${shareit.hibernate.cache.users.maximum-size:10000}") long usersSize,
+            @Value("${shareit.hibernate.cache.items.maximum-size:10000}") long itemsSize,
+            @Value("${shareit.hibernate.cache.requests.maximum-size:10000}") long requestsSize,
+            @Value("${shareit.hibernate.cache.queries.maximum-size:10000}") long queriesSize,
+            @Value("${shareit.hibernate.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("shareit-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        cacheManager.createCache(User.class.getName(), region(usersSize, expireAfterWrite));
+        cacheManager.createCache(Item.class.getName(), region(itemsSize, expireAfterWrite));
+        cacheManager.createCache(ItemRequest.class.getName(), region(requestsSize, expireAfterWrite));
+        cacheManager.createCache(ItemRequest.class.getName() + ".items", region(requestsSize, expireAfterWrite));
+        cacheManager.createCache(QUERY_RESULTS_REGION, region(queriesSize, expireAfterWrite));
+        // timestamps decide whether cached query results are stale, so they must never be evicted
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, timestamps);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.util;
+
+import lombok.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.exception.MethodArgumentException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static ru.practicum.shareit.util.Constants.RESPONSE_HEADER_NEXT_CURSOR;
+
+/**
+ * Keyset pagination cursor holding the sort key of the last row of a page.
+ * Clients get it as an opaque string in the {@code X-Next-Cursor} header and pass it back as {@code cursor}.
+ */
+@Value
+public class PageCursor {
+    private static final String SEPARATOR = "|";
+
+    public static final PageCursor FIRST_ASC = new PageCursor(null, 0L);
+
+    public static final PageCursor FIRST_DESC = new PageCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59),
+            Long.MAX_VALUE);
+
+    LocalDateTime time;
+    long id;
+
+    public static PageCursor of(long id) {
+        return new PageCursor(null, id);
+    }
+
+    /**
+     * The time is truncated to microseconds, the precision of timestamp columns.
+     */
+    public static PageCursor of(LocalDateTime time, long id) {
+        return new PageCursor(time != null ? time.truncatedTo(ChronoUnit.MICROS) : null, id);
+    }
+
+    public String encode() {
+        String key = time != null ? time + SEPARATOR + id : String.valueOf(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static @Nullable PageCursor decode(@Nullable String cursor) {
+        PageCursor pageCursor = parse(cursor);
+
+        if (pageCursor != null && pageCursor.getTime() != null) {
+            throw new MethodArgumentException("Некорректный курсор");
+        }
+
+        return pageCursor;
+    }
+
+    public static @Nullable PageCursor decodeTimed(@Nullable String cursor) {
+        PageCursor pageCursor = parse(cursor);
+
+        if (pageCursor != null && pageCursor.getTime() == null) {
+            throw new MethodArgumentException("Некорректный курсор");
+        }
+
+        return pageCursor;
+    }
+
+    /**
+     * Wraps the page into a response and, if the page is full, adds the cursor of its last row.
+     */
+    public static <T> ResponseEntity<List<T>> toResponse(List<T> page, int size, Function<T, PageCursor> keyExtractor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (!page.isEmpty() && page.size() >= size) {
+            response.header(RESPONSE_HEADER_NEXT_CURSOR, keyExtractor.apply(page.get(page.size() - 1)).encode());
+        }
+
+        return response.body(page);
+    }
+
+    private static @Nullable PageCursor parse(@Nullable String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = key.indexOf(SEPARATOR);
+
+            if (separator < 0) {
+                return of(Long.parseLong(key));
+            }
+
+            return of(LocalDateTime.parse(key.substring(0, separator)), Long.parseLong(key.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new MethodArgumentException("Некорректный курсор");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+ALTER TABLE items
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+        GENERATED ALWAYS AS (to_tsvector('simple', name || ' ' || description)) STORED;
+
+CREATE INDEX IF NOT EXISTS IX_ITEMS_SEARCH_VECTOR ON items USING GIN (search_vector);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_BOOKER_WAITING ON bookings (booker_id, start_date DESC, id DESC)
+    WHERE status = 'WAITING';
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_BOOKER_REJECTED ON bookings (booker_id, start_date DESC, id DESC)
+    WHERE status = 'REJECTED';
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_ITEM_WAITING ON bookings (item_id, start_date DESC, id DESC)
+    WHERE status = 'WAITING';
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_ITEM_REJECTED ON bookings (item_id, start_date DESC, id DESC)
+    WHERE status = 'REJECTED';
+
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_ITEM_APPROVED ON bookings (item_id, start_date DESC)
+    WHERE status = 'APPROVED';
+
+-- without the constraint (no privilege to install btree_gist, or overlapping data) approvals lock the item instead
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''ex_bookings_approved_overlap'') THEN
+        CREATE EXTENSION IF NOT EXISTS btree_gist;
+        ALTER TABLE bookings
+            ADD CONSTRAINT EX_BOOKINGS_APPROVED_OVERLAP
+                EXCLUDE USING GIST (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+                WHERE (status = ''APPROVED'');
+    END IF;
+EXCEPTION
+    WHEN duplicate_object OR duplicate_table THEN NULL;
+    WHEN insufficient_privilege THEN RAISE WARNING ''btree_gist cannot be installed, EX_BOOKINGS_APPROVED_OVERLAP not created'';
+    WHEN exclusion_violation THEN RAISE WARNING ''bookings contain overlapping approved intervals, EX_BOOKINGS_APPROVED_OVERLAP not created'';
+END';
+
+-- ids of databases created before the sequences were introduced come from identity columns:
+-- move each sequence past them, unless it is already ahead
+DO '
+DECLARE
+    table_name TEXT;
+BEGIN
+    FOREACH table_name IN ARRAY ARRAY [''users'', ''request'', ''items'', ''bookings'', ''comments'']
+        LOOP
+            EXECUTE format(''SELECT setval(%1$L, max(id) + 1, false) FROM %2$I '' ||
+                           ''HAVING max(id) >= (SELECT last_value + CASE WHEN is_called THEN 50 ELSE 0 END FROM %1$I)'',
+                           table_name || ''_seq'', table_name);
+        END LOOP;
+END';
@@ -1,6 +1,12 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS request_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users
 (
-    id    BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id    BIGINT DEFAULT nextval('users_seq')     NOT NULL,
     name  VARCHAR(255)                            NOT NULL,
     email VARCHAR(512)                            NOT NULL,
     CONSTRAINT PK_USER PRIMARY KEY (id),
@@ -9,7 +15,7 @@ CREATE TABLE IF NOT EXISTS users
 
 CREATE TABLE IF NOT EXISTS request
 (
-    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id           BIGINT DEFAULT nextval('request_seq')   NOT NULL,
     description  VARCHAR(1000)                           NOT NULL,
     created      TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
     requester_id BIGINT                                  NOT NULL,
@@ -20,7 +26,7 @@ CREATE TABLE IF NOT EXISTS request
 
 CREATE TABLE IF NOT EXISTS items
 (
-    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id           BIGINT DEFAULT nextval('items_seq')     NOT NULL,
     name         VARCHAR(255)                            NOT NULL,
     description  VARCHAR(512)                            NOT NULL,
     is_available BOOLEAN                                 NOT NULL,
@@ -35,7 +41,7 @@ CREATE TABLE IF NOT EXISTS items
 
 CREATE TABLE IF NOT EXISTS bookings
 (
-    id         BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id         BIGINT DEFAULT nextval('bookings_seq')  NOT NULL,
     start_date TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
     end_date   TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
     item_id    BIGINT                                  NOT NULL,
@@ -50,7 +56,7 @@ CREATE TABLE IF NOT EXISTS bookings
 
 CREATE TABLE IF NOT EXISTS comments
 (
-    id        BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id        BIGINT DEFAULT nextval('comments_seq')  NOT NULL,
     text      VARCHAR(1000)                           NOT NULL,
     created   TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
     item_id   BIGINT                                  NOT NULL,
@@ -60,4 +66,17 @@ CREATE TABLE IF NOT EXISTS comments
         on delete cascade on update cascade,
     CONSTRAINT FK_COMMENT_AUTHOR FOREIGN KEY (author_id) references users
         on delete cascade on update cascade
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS IX_REQUEST_REQUESTER_CREATED ON request (requester_id, created DESC, id DESC);
+CREATE INDEX IF NOT EXISTS IX_REQUEST_CREATED ON request (created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS IX_ITEMS_OWNER ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS IX_ITEMS_REQUEST ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_BOOKER_START ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_ITEM_START ON bookings (item_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS IX_COMMENTS_ITEM ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_ITEM_BOOKER_END ON bookings (item_id, booker_id, status, end_date);
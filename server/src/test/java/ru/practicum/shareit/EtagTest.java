@@ -0,0 +1,81 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.REQUEST_HEADER_USER_ID;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:etag")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class EtagTest {
+    private final MockMvc mvc;
+    private final UserService userService;
+    private final ItemService itemService;
+
+    @Test
+    void shouldAnswerNotModifiedForUnchangedSingleResources() throws Exception {
+        long userId = userService.create(CreateUpdateUserDto.builder()
+                .name("user")
+                .email("user@ya.ru")
+                .build()).getId();
+        long itemId = itemService.create(userId, CreateUpdateItemDto.builder()
+                .name("item")
+                .description("description")
+                .available(true)
+                .build()).getId();
+
+        String etag = mvc.perform(get("/items/{itemId}", itemId)
+                        .header(REQUEST_HEADER_USER_ID, userId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/items/{itemId}", itemId)
+                        .header(REQUEST_HEADER_USER_ID, userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        itemService.update(userId, itemId, CreateUpdateItemDto.builder().name("updated").build());
+
+        String updatedEtag = mvc.perform(get("/items/{itemId}", itemId)
+                        .header(REQUEST_HEADER_USER_ID, userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(updatedEtag).isNotEqualTo(etag);
+
+        mvc.perform(get("/users/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+        mvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mvc.perform(get("/items/search")
+                        .header(REQUEST_HEADER_USER_ID, userId)
+                        .param("text", "item"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.item.dto.CreateCommentDto;
+import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
+import ru.practicum.shareit.request.dto.CreateItemRequestDto;
+import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.REQUEST_HEADER_USER_ID;
+
+/**
+ * Goes through every endpoint with open-session-in-view disabled: a lazy load outside a transaction fails
+ * the request, and reads must get everything they map from their fetch queries, without lazy loads at all.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:fetch-plan")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class FetchPlanTest {
+    private final MockMvc mvc;
+    private final ObjectMapper mapper;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void shouldNotLoadLazilyOutsideFetchPlans() throws Exception {
+        perform(post("/users"), null, CreateUpdateUserDto.builder().name("owner").email("owner@ya.ru").build());
+        perform(post("/users"), null, CreateUpdateUserDto.builder().name("booker").email("booker@ya.ru").build());
+        perform(patch("/users/{userId}", 2), null, CreateUpdateUserDto.builder().name("booker2").build());
+        perform(post("/requests"), 2L, CreateItemRequestDto.builder().description("request").build());
+        perform(post("/items"), 1L, CreateUpdateItemDto.builder()
+                .name("item")
+                .description("description")
+                .available(true)
+                .requestId(1L)
+                .build());
+        perform(patch("/items/{itemId}", 1), 1L, CreateUpdateItemDto.builder().description("updated").build());
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        perform(post("/bookings"), 2L, CreateBookingDto.builder()
+                .itemId(1L)
+                .start(now.minusDays(2))
+                .end(now.minusDays(1))
+                .build());
+        perform(post("/bookings"), 2L, CreateBookingDto.builder()
+                .itemId(1L)
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .build());
+        perform(patch("/bookings/{bookingId}", 1).param("approved", "true"), 1L, null);
+        perform(post("/items/{itemId}/comment", 1), 2L, CreateCommentDto.builder().text("comment").build());
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+        read(sessionFactory, get("/users"), 1L);
+        read(sessionFactory, get("/users/{userId}", 1), 1L);
+        read(sessionFactory, get("/requests"), 2L);
+        read(sessionFactory, get("/requests/all"), 1L);
+        read(sessionFactory, get("/requests/{requestId}", 1), 1L);
+        read(sessionFactory, get("/items"), 1L);
+        read(sessionFactory, get("/items/{itemId}", 1), 1L);
+        read(sessionFactory, get("/items/{itemId}", 1), 2L);
+        read(sessionFactory, get("/items/search").param("text", "item"), 2L);
+        read(sessionFactory, get("/items/{itemId}/availability", 1)
+                .param("from", now.toString())
+                .param("to", now.plusDays(3).toString()), 2L);
+        read(sessionFactory, get("/bookings").param("state", "ALL"), 2L);
+        read(sessionFactory, get("/bookings/owner").param("state", "ALL"), 1L);
+        read(sessionFactory, get("/bookings/counts"), 2L);
+        read(sessionFactory, get("/bookings/owner/counts"), 1L);
+        read(sessionFactory, get("/bookings/{bookingId}", 1), 2L);
+    }
+
+    private void read(SessionFactory sessionFactory, MockHttpServletRequestBuilder request, long userId)
+            throws Exception {
+        Statistics statistics = sessionFactory.getStatistics();
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+
+        perform(request, userId, null);
+
+        assertThat(statistics.getEntityFetchCount())
+                .as("lazy entity loads")
+                .isZero();
+        assertThat(statistics.getCollectionFetchCount())
+                .as("lazy collection loads")
+                .isZero();
+    }
+
+    private void perform(MockHttpServletRequestBuilder request, Long userId, Object body) throws Exception {
+        if (userId != null) {
+            request.header(REQUEST_HEADER_USER_ID, userId);
+        }
+        if (body != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(mapper.writeValueAsString(body));
+        }
+        mvc.perform(request).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
+import ru.practicum.shareit.user.UserCache;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.REQUEST_HEADER_USER_ID;
+
+/**
+ * Checks that requests answered from a cache or rejected by validation never take a physical connection,
+ * by watching the per-endpoint connection hold timer.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:lazy-connection")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class LazyConnectionTest {
+    private final MockMvc mvc;
+    private final MeterRegistry meterRegistry;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserCache userCache;
+    private final UserService userService;
+    private final ItemService itemService;
+
+    @Test
+    void shouldTakeConnectionOnlyForQueries() throws Exception {
+        long userId = userService.create(CreateUpdateUserDto.builder()
+                .name("user")
+                .email("user@ya.ru")
+                .build()).getId();
+        long itemId = itemService.create(userId, CreateUpdateItemDto.builder()
+                .name("item")
+                .description("description")
+                .available(true)
+                .build()).getId();
+        entityManagerFactory.getCache().evictAll();
+        userCache.evict(userId);
+
+        mvc.perform(get("/users/{userId}", userId)).andExpect(status().isOk());
+        assertThat(holds("GET", "/users/{userId}")).isEqualTo(1);
+
+        mvc.perform(get("/users/{userId}", userId)).andExpect(status().isOk());
+        mvc.perform(get("/users/{userId}", userId)).andExpect(status().isOk());
+        assertThat(holds("GET", "/users/{userId}")).isEqualTo(1);
+
+        LocalDateTime from = LocalDateTime.now().plusDays(2).withNano(0);
+        mvc.perform(get("/items/{itemId}/availability", itemId)
+                        .header(REQUEST_HEADER_USER_ID, userId)
+                        .param("from", from.toString())
+                        .param("to", from.minusDays(1).toString()))
+                .andExpect(status().isBadRequest());
+        assertThat(holds("GET", "/items/{itemId}/availability")).isZero();
+
+        mvc.perform(get("/items/{itemId}/availability", itemId)
+                        .header(REQUEST_HEADER_USER_ID, userId)
+                        .param("from", from.toString())
+                        .param("to", from.plusDays(1).toString()))
+                .andExpect(status().isOk());
+        assertThat(holds("GET", "/items/{itemId}/availability")).isEqualTo(1);
+    }
+
+    private long holds(String method, String uri) {
+        Timer timer = meterRegistry.find("shareit.db.connection.hold")
+                .tag("method", method)
+                .tag("uri", uri)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
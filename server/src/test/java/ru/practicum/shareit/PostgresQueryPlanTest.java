@@ -0,0 +1,139 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.util.StatementRecorder;
+import ru.practicum.shareit.util.StatementRecorder.RecordedStatement;
+import ru.practicum.shareit.util.StatementRecorderConfiguration;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks on PostgreSQL that the partial booking indexes of {@code schema-postgresql.sql} are created and chosen
+ * by the planner for the booking list and last/next booking queries. Needs Docker and is skipped without it.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+@Import(StatementRecorderConfiguration.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class PostgresQueryPlanTest {
+    private static final Pattern INDEX = Pattern.compile("using (\\w+)");
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StatementRecorder statementRecorder;
+    private final BookingService bookingService;
+    private final ItemService itemService;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.sql.init.schema-locations",
+                () -> "classpath:/schema.sql,classpath:/schema-postgresql.sql");
+    }
+
+    @Test
+    void shouldUsePartialBookingIndexes() {
+        seed();
+
+        long ownerId = jdbcTemplate.queryForObject("select min(owner_id) from items", Long.class);
+        long bookerId = jdbcTemplate.queryForObject("select min(booker_id) from bookings", Long.class);
+
+        statementRecorder.start();
+        for (State state : Set.of(State.WAITING, State.REJECTED)) {
+            bookingService.getUserBookings(bookerId, state.name(), 0, 20, null);
+            bookingService.getOwnerBookings(ownerId, state.name(), 0, 20, null);
+        }
+        itemService.getAllByUserId(ownerId, 0, 10, null);
+
+        Map<String, RecordedStatement> queries = new LinkedHashMap<>();
+        for (RecordedStatement statement : statementRecorder.stop()) {
+            if (statement.getSql().trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+                queries.putIfAbsent(statement.getSql(), statement);
+            }
+        }
+
+        Set<String> indexes = new TreeSet<>();
+        Set<String> seqScans = new TreeSet<>();
+        for (RecordedStatement query : queries.values()) {
+            String plan = explain(query);
+            collect(INDEX.matcher(plan), indexes);
+            collect(SEQ_SCAN.matcher(plan), seqScans);
+        }
+
+        assertThat(indexes).contains(
+                "ix_bookings_booker_waiting",
+                "ix_bookings_booker_rejected",
+                "ix_bookings_item_approved");
+        assertThat(seqScans).doesNotContain("bookings");
+    }
+
+    private static void collect(Matcher matcher, Set<String> names) {
+        while (matcher.find()) {
+            names.add(matcher.group(1).toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private String explain(RecordedStatement query) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.getSql())) {
+                query.bind(statement);
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    private void seed() {
+        jdbcTemplate.update("insert into users (name, email) " +
+                "select 'user' || g, 'user' || g || '@plan.ru' from generate_series(1, 1000) g");
+        jdbcTemplate.update("insert into items (name, description, is_available, owner_id) " +
+                "select 'item' || g, 'description' || g, true, u.min_id + g % 1000 " +
+                "from generate_series(1, 10000) g, (select min(id) as min_id from users) u");
+        // twenty bookings per item, three days apart, so that approved ones never overlap
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                "select now() + (g / 10000 * 3 - 30) * interval '1 day', " +
+                "   now() + (g / 10000 * 3 - 29) * interval '1 day', " +
+                "   i.min_id + g % 10000, u.min_id + (g * 7) % 1000, " +
+                "   (array['WAITING', 'APPROVED', 'REJECTED'])[g % 3 + 1] " +
+                "from generate_series(1, 200000) g, " +
+                "   (select min(id) as min_id from items) i, (select min(id) as min_id from users) u");
+        jdbcTemplate.execute("analyze");
+    }
+}
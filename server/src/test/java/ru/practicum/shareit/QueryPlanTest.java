@@ -0,0 +1,193 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.CompletedBookingCache;
+import ru.practicum.shareit.booking.dto.GetBookingDto;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.GetItemDto;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.GetItemRequestDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.GetUserDto;
+import ru.practicum.shareit.util.PageCursor;
+import ru.practicum.shareit.util.StatementRecorder;
+import ru.practicum.shareit.util.StatementRecorder.RecordedStatement;
+import ru.practicum.shareit.util.StatementRecorderConfiguration;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the repository queries issued by the services against a seeded database
+ * and checks their plans: none of them may fall back to a full scan of a large table.
+ * Runs on H2; the partial indexes only created on PostgreSQL are checked by {@link PostgresQueryPlanTest}.
+ */
+@Transactional
+@SpringBootTest
+@Import(StatementRecorderConfiguration.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class QueryPlanTest {
+    private static final Set<String> LARGE_TABLES = Set.of("USERS", "REQUEST", "ITEMS", "BOOKINGS", "COMMENTS");
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* PUBLIC\\.(\\w+)\\.tableScan");
+
+    private static final int USERS = 50;
+    private static final int REQUESTS = 200;
+    private static final int ITEMS = 1000;
+    private static final int BOOKINGS = 5000;
+    private static final int COMMENTS = 2000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StatementRecorder statementRecorder;
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final CompletedBookingCache completedBookings;
+    private final ItemRequestService requestService;
+    private final UserService userService;
+
+    @Test
+    void shouldNotScanLargeTables() {
+        seed();
+
+        long ownerId = jdbcTemplate.queryForObject("select min(owner_id) from items", Long.class);
+        long bookerId = jdbcTemplate.queryForObject("select min(booker_id) from bookings", Long.class);
+        long itemId = jdbcTemplate.queryForObject("select min(id) from items where owner_id = ?", Long.class, ownerId);
+        long bookingId = jdbcTemplate.queryForObject("select min(id) from bookings where booker_id = ?", Long.class,
+                bookerId);
+        long requestId = jdbcTemplate.queryForObject("select min(id) from request", Long.class);
+
+        statementRecorder.start();
+
+        for (State state : State.values()) {
+            List<GetBookingDto> bookings = bookingService.getUserBookings(bookerId, state.name(), 0, 20, null);
+            if (!bookings.isEmpty()) {
+                GetBookingDto last = bookings.get(bookings.size() - 1);
+                bookingService.getUserBookings(bookerId, state.name(), 0, 20,
+                        PageCursor.of(last.getStart(), last.getId()));
+            }
+            bookingService.getOwnerBookings(ownerId, state.name(), 100, 20, null);
+            bookingService.getOwnerBookings(ownerId, state.name(), 0, 20,
+                    PageCursor.of(LocalDateTime.now(), Long.MAX_VALUE));
+        }
+        bookingService.getBookingByUserOwner(bookerId, bookingId);
+
+        List<GetItemDto> items = itemService.getAllByUserId(ownerId, 0, 10, null);
+        itemService.getAllByUserId(ownerId, 0, 10, PageCursor.of(items.get(items.size() - 1).getId()));
+        itemService.getOneById(ownerId, itemId);
+        itemService.getOneById(bookerId, itemId);
+        completedBookings.hasCompletedBooking(itemId, bookerId);
+
+        requestService.getAllRequestsByUserId(ownerId);
+        List<GetItemRequestDto> requests = requestService.getAllRequests(ownerId, 0, 20, null);
+        GetItemRequestDto lastRequest = requests.get(requests.size() - 1);
+        requestService.getAllRequests(ownerId, 0, 20, PageCursor.of(lastRequest.getCreated(), lastRequest.getId()));
+        requestService.getRequestById(ownerId, requestId);
+
+        List<GetUserDto> users = userService.getAll(0, 20, null);
+        userService.getAll(0, 20, PageCursor.of(users.get(users.size() - 1).getId()));
+        userService.getById(ownerId);
+
+        Map<String, RecordedStatement> queries = new LinkedHashMap<>();
+        for (RecordedStatement statement : statementRecorder.stop()) {
+            if (statement.getSql().trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+                queries.putIfAbsent(statement.getSql(), statement);
+            }
+        }
+
+        List<String> scans = new ArrayList<>();
+        for (RecordedStatement query : queries.values()) {
+            String plan = explain(query);
+            Matcher matcher = TABLE_SCAN.matcher(plan);
+            while (matcher.find()) {
+                if (LARGE_TABLES.contains(matcher.group(1))) {
+                    scans.add(matcher.group(1) + ":\n" + plan);
+                }
+            }
+        }
+
+        assertThat(queries).isNotEmpty();
+        assertThat(scans).isEmpty();
+    }
+
+    private String explain(RecordedStatement query) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.getSql())) {
+                query.bind(statement);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    private void seed() {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{"user" + i, "user" + i + "@plan.ru"});
+        }
+        jdbcTemplate.batchUpdate("insert into users (name, email) values (?, ?)", users);
+        List<Long> userIds = jdbcTemplate.queryForList("select id from users order by id", Long.class);
+
+        List<Object[]> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            requests.add(new Object[]{"request" + i, Timestamp.valueOf(now.minusHours(i)),
+                    userIds.get(i % USERS)});
+        }
+        jdbcTemplate.batchUpdate("insert into request (description, created, requester_id) values (?, ?, ?)",
+                requests);
+        List<Long> requestIds = jdbcTemplate.queryForList("select id from request order by id", Long.class);
+
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Object[]{"item" + i, "description" + i, i % 5 != 0, userIds.get(i % USERS),
+                    i % 4 == 0 ? requestIds.get(i % REQUESTS) : null});
+        }
+        jdbcTemplate.batchUpdate("insert into items (name, description, is_available, owner_id, request_id) " +
+                "values (?, ?, ?, ?, ?)", items);
+        List<Long> itemIds = jdbcTemplate.queryForList("select id from items order by id", Long.class);
+
+        List<Object[]> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = now.plusDays(i % 200 - 100);
+            bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)),
+                    itemIds.get(i % ITEMS), userIds.get((i % USERS + 1 + i % 7) % USERS),
+                    Status.values()[i % Status.values().length].name()});
+        }
+        jdbcTemplate.batchUpdate("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?)", bookings);
+
+        List<Object[]> comments = new ArrayList<>();
+        for (int i = 0; i < COMMENTS; i++) {
+            comments.add(new Object[]{"comment" + i, Timestamp.valueOf(now.minusMinutes(i)),
+                    itemIds.get(i % ITEMS), userIds.get((i + 1) % USERS)});
+        }
+        jdbcTemplate.batchUpdate("insert into comments (text, created, item_id, author_id) values (?, ?, ?, ?)",
+                comments);
+    }
+}
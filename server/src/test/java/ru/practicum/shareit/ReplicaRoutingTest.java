@@ -0,0 +1,100 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
+import ru.practicum.shareit.user.dto.GetUserDto;
+import ru.practicum.shareit.util.ReplicaRoutingDataSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against two H2 databases standing in for a primary and its replica; the replica is not replicated to,
+ * so what a read returns tells which database it went to.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "spring.datasource.hikari.connection-timeout=500",
+        "shareit.datasource.replica-urls=" + ReplicaRoutingTest.REPLICA_URL + ";IFEXISTS=TRUE",
+        "shareit.datasource.replica-health-check-interval=1h"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ReplicaRoutingTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    private final UserService userService;
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @BeforeAll
+    static void beforeAll() throws SQLException {
+        startReplica();
+    }
+
+    @AfterAll
+    static void afterAll() throws SQLException {
+        execute("SHUTDOWN");
+    }
+
+    @Test
+    void shouldReadFromReplicaAndFallBackToPrimary() throws SQLException {
+        userService.create(CreateUpdateUserDto.builder()
+                .name("primaryUser")
+                .email("primary@ya.ru")
+                .build());
+
+        assertThat(userService.getAll(0, 20, null)).isEmpty();
+
+        execute("insert into users (id, name, email) values (100, 'replicaUser', 'replica@ya.ru')");
+
+        assertThat(userService.getAll(0, 20, null))
+                .extracting(GetUserDto::getName)
+                .containsExactly("replicaUser");
+
+        execute("SHUTDOWN");
+        replicaRoutingDataSource.checkReplicas(1);
+
+        assertThat(userService.getAll(0, 20, null))
+                .extracting(GetUserDto::getName)
+                .containsExactly("primaryUser");
+
+        startReplica();
+        execute("insert into users (id, name, email) values (100, 'replicaUser', 'replica@ya.ru')");
+
+        assertThat(userService.getAll(0, 20, null))
+                .extracting(GetUserDto::getName)
+                .containsExactly("primaryUser");
+
+        replicaRoutingDataSource.checkReplicas(1);
+
+        assertThat(userService.getAll(0, 20, null))
+                .extracting(GetUserDto::getName)
+                .containsExactly("replicaUser");
+    }
+
+    private static void startReplica() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "test", "test")) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+        }
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "test", "test");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
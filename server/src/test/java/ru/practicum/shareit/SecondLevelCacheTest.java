@@ -0,0 +1,95 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.CreateItemRequestDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
+import ru.practicum.shareit.util.StatementRecorder;
+import ru.practicum.shareit.util.StatementRecorder.RecordedStatement;
+import ru.practicum.shareit.util.StatementRecorderConfiguration;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reads committed users, items and requests twice and checks that the second read is served
+ * by the second-level cache. Runs on a database of its own, since the data is committed.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:second-level-cache")
+@Import(StatementRecorderConfiguration.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class SecondLevelCacheTest {
+    private final StatementRecorder statementRecorder;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemRequestService requestService;
+
+    @Test
+    void shouldReadItemsAndRequestsFromCache() {
+        long ownerId = userService.create(CreateUpdateUserDto.builder()
+                .name("owner")
+                .email("owner@ya.ru")
+                .build()).getId();
+        long requesterId = userService.create(CreateUpdateUserDto.builder()
+                .name("requester")
+                .email("requester@ya.ru")
+                .build()).getId();
+        long requestId = requestService.createRequest(requesterId, CreateItemRequestDto.builder()
+                .description("request")
+                .build()).getId();
+        CreateUpdateItemDto itemDto = CreateUpdateItemDto.builder()
+                .name("item")
+                .description("description")
+                .available(true)
+                .requestId(requestId)
+                .build();
+        long itemId = itemService.create(ownerId, itemDto).getId();
+
+        requestService.getRequestById(ownerId, requestId);
+        itemService.getOneById(requesterId, itemId);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long hits = statistics.getSecondLevelCacheHitCount() + statistics.getQueryCacheHitCount();
+
+        statementRecorder.start();
+        requestService.getRequestById(ownerId, requestId);
+        itemService.getOneById(requesterId, itemId);
+        List<String> queries = statementRecorder.stop()
+                .stream()
+                .map(RecordedStatement::getSql)
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+
+        assertThat(queries)
+                .anyMatch(sql -> sql.contains("public.comments "))
+                .noneMatch(sql -> sql.contains("public.users ") || sql.contains("public.items ")
+                        || sql.contains("public.request "));
+        assertThat(statistics.getSecondLevelCacheHitCount() + statistics.getQueryCacheHitCount())
+                .isGreaterThan(hits);
+
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests").tag("result", "hit").meters())
+                .isNotEmpty();
+
+        itemService.create(ownerId, itemDto);
+
+        assertThat(requestService.getRequestById(ownerId, requestId).getItems()).hasSize(2);
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Approves two overlapping bookings of one item concurrently on H2, which has no exclusion constraint,
+ * and checks that only one of them ends up approved. Runs on a database of its own, since the data is committed.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:approval-concurrency")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ApprovalConcurrencyTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ApprovedOverlapConstraint approvedOverlapConstraint;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldApproveOnlyOneOfOverlappingBookings() throws Exception {
+        long ownerId = createUser("owner@ya.ru");
+        long bookerId = createUser("booker@ya.ru");
+        long itemId = itemService.create(ownerId, CreateUpdateItemDto.builder()
+                .name("itemName")
+                .description("itemDescription")
+                .available(true)
+                .build()).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        long firstId = book(bookerId, itemId, start, start.plusDays(2));
+        long secondId = book(bookerId, itemId, start.plusDays(1), start.plusDays(3));
+
+        assertFalse(approvedOverlapConstraint.isPresent());
+
+        CountDownLatch firstApproved = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                status -> {
+                    bookingService.approveBooking(ownerId, firstId, true);
+                    firstApproved.countDown();
+                    sleep();
+                }));
+        assertTrue(firstApproved.await(10, TimeUnit.SECONDS));
+        CompletableFuture<Void> second = CompletableFuture.runAsync(
+                () -> bookingService.approveBooking(ownerId, secondId, true));
+
+        first.get(10, TimeUnit.SECONDS);
+        try {
+            second.get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            // the second approval is expected to fail once it sees the first one
+        }
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from bookings where item_id = ? and status = 'APPROVED'", Integer.class, itemId));
+    }
+
+    private long createUser(String email) {
+        return userService.create(CreateUpdateUserDto.builder()
+                .name("userName")
+                .email(email)
+                .build()).getId();
+    }
+
+    private long book(long bookerId, long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingService.create(bookerId, CreateBookingDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .build()).getId();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
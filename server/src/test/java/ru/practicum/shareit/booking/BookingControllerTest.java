@@ -9,9 +9,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.dto.GetBookingCountsDto;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.GetBookingForItemDto;
+import ru.practicum.shareit.user.ActorContext;
 import ru.practicum.shareit.user.dto.GetUserForGetBookingDto;
 
 import java.nio.charset.StandardCharsets;
@@ -24,6 +27,7 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -48,6 +52,9 @@ class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private ActorContext actorContext;
+
     private static GetUserForGetBookingDto booker;
     private static CreateBookingDto createBookingDto;
     private static GetBookingDto getBookingDto;
@@ -206,12 +213,12 @@ class BookingControllerTest {
         mockMvc.perform(get("/bookings")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
-        verify(bookingService, never()).getUserBookings(anyLong(), anyString(), anyInt(), anyInt());
+        verify(bookingService, never()).getUserBookings(anyLong(), anyString(), anyInt(), anyInt(), any());
     }
 
     @Test
     void shouldGetBookingWithGetUserBookings() throws Exception {
-        when(bookingService.getUserBookings(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getUserBookings(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenReturn(listWith20Bookings);
 
         mockMvc.perform(get("/bookings")
@@ -224,7 +231,7 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.size()").value(20))
                 .andExpect(jsonPath("$.[0].id").value(2L))
                 .andExpect(jsonPath("$.[19].id").value(21L));
-        verify(bookingService, times(1)).getUserBookings(anyLong(), anyString(), anyInt(), anyInt());
+        verify(bookingService, times(1)).getUserBookings(anyLong(), anyString(), anyInt(), anyInt(), any());
     }
 
     @Test
@@ -232,12 +239,12 @@ class BookingControllerTest {
         mockMvc.perform(get("/bookings/owner")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
-        verify(bookingService, never()).getOwnerBookings(anyLong(), anyString(), anyInt(), anyInt());
+        verify(bookingService, never()).getOwnerBookings(anyLong(), anyString(), anyInt(), anyInt(), any());
     }
 
     @Test
     void shouldGetBookingWithGetOwnerBookings() throws Exception {
-        when(bookingService.getOwnerBookings(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getOwnerBookings(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenReturn(listWith20Bookings);
 
         mockMvc.perform(get("/bookings/owner")
@@ -250,6 +257,60 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.size()").value(20))
                 .andExpect(jsonPath("$.[0].id").value(2L))
                 .andExpect(jsonPath("$.[19].id").value(21L));
-        verify(bookingService, times(1)).getOwnerBookings(anyLong(), anyString(), anyInt(), anyInt());
+        verify(bookingService, times(1)).getOwnerBookings(anyLong(), anyString(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void shouldGetUserBookingCounts() throws Exception {
+        when(bookingService.getUserBookingCounts(anyLong()))
+                .thenReturn(GetBookingCountsDto.builder().all(3).past(2).waiting(1).build());
+
+        mockMvc.perform(get("/bookings/counts")
+                        .header(REQUEST_HEADER_USER_ID, "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all").value(3))
+                .andExpect(jsonPath("$.past").value(2))
+                .andExpect(jsonPath("$.waiting").value(1));
+        verify(bookingService, times(1)).getUserBookingCounts(1L);
+    }
+
+    @Test
+    void shouldGetOwnerBookingCounts() throws Exception {
+        when(bookingService.getOwnerBookingCounts(anyLong()))
+                .thenReturn(GetBookingCountsDto.builder().all(1).future(1).build());
+
+        mockMvc.perform(get("/bookings/owner/counts")
+                        .header(REQUEST_HEADER_USER_ID, "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all").value(1))
+                .andExpect(jsonPath("$.future").value(1));
+        verify(bookingService, times(1)).getOwnerBookingCounts(1L);
+        verify(bookingService, never()).getBookingByUserOwner(anyLong(), anyLong());
+    }
+
+    @Test
+    void shouldCheckActorOnce() throws Exception {
+        mockMvc.perform(get("/bookings/counts")
+                        .header(REQUEST_HEADER_USER_ID, "1"))
+                .andExpect(status().isOk());
+        verify(actorContext, times(1)).check(1L);
+    }
+
+    @Test
+    void shouldGetNotFoundForUnknownActor() throws Exception {
+        doThrow(new NotFoundException("Пользователь не найден")).when(actorContext).check(1L);
+
+        mockMvc.perform(get("/bookings/counts")
+                        .header(REQUEST_HEADER_USER_ID, "1"))
+                .andExpect(status().isNotFound());
+        verify(bookingService, never()).getUserBookingCounts(anyLong());
+    }
+
+    @Test
+    void shouldGetExceptionWithMalformedHeader() throws Exception {
+        mockMvc.perform(get("/bookings/counts")
+                        .header(REQUEST_HEADER_USER_ID, "one"))
+                .andExpect(status().isBadRequest());
+        verify(actorContext, never()).check(anyLong());
     }
-}
\ No newline at end of file
+}
@@ -9,17 +9,22 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.dto.GetBookingCountsDto;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.exception.NotAvailableException;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
+import ru.practicum.shareit.util.PageCursor;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -96,6 +101,27 @@ public class BookingIntegrationTest {
         assertThat(Status.APPROVED, equalTo(booking.getStatus()));
     }
 
+    @Test
+    void shouldDecideBookingOnlyOnce() {
+        userService.create(userDto);
+        userService.create(userDto2);
+        itemService.create(1L, itemDto);
+        bookingService.create(2L, bookingDto);
+        bookingService.approveBooking(1L, 1L, true);
+
+        Assertions.assertThatThrownBy(() -> bookingService.approveBooking(1L, 1L, true))
+                .isInstanceOf(NotAvailableException.class)
+                .hasMessage("Бронирование уже подтверждено");
+        Assertions.assertThatThrownBy(() -> bookingService.approveBooking(1L, 1L, false))
+                .isInstanceOf(NotAvailableException.class)
+                .hasMessage("Бронирование уже подтверждено");
+        Assertions.assertThatThrownBy(() -> bookingService.approveBooking(2L, 1L, false))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("Бронирование не найдено");
+        Assertions.assertThat(bookingService.getBookingByUserOwner(1L, 1L))
+                .hasFieldOrPropertyWithValue("status", Status.APPROVED);
+    }
+
     @Test
     void shouldGetBookingByUserOwner() {
         userService.create(userDto);
@@ -125,7 +151,7 @@ public class BookingIntegrationTest {
         bookingService.create(1L, bookingDto.toBuilder().itemId(2L).start(LocalDateTime.now().minusDays(2).plusHours(2)).build());
         bookingService.approveBooking(1L, 1L, true);
 
-        List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "all",1, 3);
+        List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "all",1, 3, null);
 
         Assertions.assertThat(bookings)
                 .isNotEmpty()
@@ -148,7 +174,7 @@ public class BookingIntegrationTest {
         bookingService.approveBooking(1L, 1L, true);
         bookingService.approveBooking(2L, 5L, true);
 
-        List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "all",1, 3);
+        List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "all",1, 3, null);
 
         Assertions.assertThat(bookings)
                 .isNotEmpty()
@@ -159,4 +185,76 @@ public class BookingIntegrationTest {
                     Assertions.assertThat(list.get(2)).hasFieldOrPropertyWithValue("id", 1L);
                 });
     }
+
+    @Test
+    void shouldGetOwnerBookingsByCursor() {
+        userService.create(userDto);
+        userService.create(userDto2);
+        itemService.create(1L, itemDto);
+        LocalDateTime start = LocalDateTime.now().minusDays(2);
+        bookingService.create(2L, bookingDto.toBuilder().start(start.plusHours(1)).build());
+        bookingService.create(2L, bookingDto.toBuilder().start(start.plusHours(3)).build());
+        bookingService.create(2L, bookingDto.toBuilder().start(start.plusHours(3)).build());
+        bookingService.create(2L, bookingDto.toBuilder().start(start.plusHours(2)).build());
+        bookingService.create(2L, bookingDto.toBuilder().start(start).build());
+
+        List<GetBookingDto> firstPage = bookingService.getOwnerBookings(1L, "all", 0, 2, null);
+        GetBookingDto last = firstPage.get(1);
+        List<GetBookingDto> secondPage = bookingService.getOwnerBookings(1L, "all", 0, 2,
+                PageCursor.of(last.getStart(), last.getId()));
+        last = secondPage.get(1);
+        List<GetBookingDto> thirdPage = bookingService.getOwnerBookings(1L, "all", 0, 2,
+                PageCursor.of(last.getStart(), last.getId()));
+
+        Assertions.assertThat(firstPage).extracting(GetBookingDto::getId).containsExactly(3L, 2L);
+        Assertions.assertThat(secondPage).extracting(GetBookingDto::getId).containsExactly(4L, 1L);
+        Assertions.assertThat(thirdPage).extracting(GetBookingDto::getId).containsExactly(5L);
+    }
+
+    @Test
+    void shouldNotApproveOverlappingBookings() {
+        userService.create(userDto);
+        userService.create(userDto2);
+        itemService.create(1L, itemDto);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingService.create(2L, bookingDto.toBuilder().start(start).end(start.plusDays(2)).build());
+        bookingService.create(2L, bookingDto.toBuilder().start(start.plusDays(1)).end(start.plusDays(3)).build());
+        bookingService.approveBooking(1L, 1L, true);
+
+        Assertions.assertThatThrownBy(() -> bookingService.approveBooking(1L, 2L, true))
+                .isInstanceOf(NotAvailableException.class);
+        Assertions.assertThatThrownBy(() -> bookingService.create(2L, bookingDto.toBuilder()
+                        .start(start.minusDays(1)).end(start.plusHours(1)).build()))
+                .isInstanceOf(NotAvailableException.class);
+        Assertions.assertThat(bookingService.create(2L, bookingDto.toBuilder()
+                        .start(start.plusDays(2)).end(start.plusDays(3)).build()))
+                .hasFieldOrPropertyWithValue("status", Status.WAITING);
+    }
+
+    @Test
+    void shouldCountBookingsByState() {
+        userService.create(userDto);
+        userService.create(userDto2);
+        itemService.create(1L, itemDto);
+        LocalDateTime now = LocalDateTime.now();
+        bookingService.create(2L, bookingDto);
+        bookingService.create(2L, bookingDto.toBuilder().start(now.minusHours(1)).end(now.plusHours(1)).build());
+        bookingService.create(2L, bookingDto.toBuilder().start(now.plusDays(1)).end(now.plusDays(2)).build());
+        bookingService.create(2L, bookingDto.toBuilder().start(now.plusDays(3)).end(now.plusDays(4)).build());
+        bookingService.approveBooking(1L, 1L, true);
+        bookingService.approveBooking(1L, 2L, false);
+
+        GetBookingCountsDto expected = GetBookingCountsDto.builder()
+                .all(4)
+                .current(1)
+                .past(1)
+                .future(2)
+                .waiting(2)
+                .rejected(1)
+                .build();
+
+        Assertions.assertThat(bookingService.getUserBookingCounts(2L)).isEqualTo(expected);
+        Assertions.assertThat(bookingService.getOwnerBookingCounts(1L)).isEqualTo(expected);
+        Assertions.assertThat(bookingService.getUserBookingCounts(1L)).isEqualTo(GetBookingCountsDto.builder().build());
+    }
 }
@@ -1,10 +1,12 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
@@ -15,10 +17,13 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemStorage;
 import ru.practicum.shareit.item.dto.GetBookingForItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.ActorContext;
+import ru.practicum.shareit.user.UserCache;
 import ru.practicum.shareit.user.UserStorage;
 import ru.practicum.shareit.user.dto.GetUserForGetBookingDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -28,6 +33,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -36,6 +42,7 @@ import static org.mockito.Mockito.when;
 class BookingServiceImplTest {
     private static BookingService bookingService;
     private static BookingStorage bookingStorage;
+    private static ApprovedOverlapConstraint approvedOverlapConstraint;
     private static ItemStorage itemStorage;
     private static UserStorage userStorage;
 
@@ -108,9 +115,18 @@ class BookingServiceImplTest {
     @BeforeEach
     void setUp() {
         bookingStorage = Mockito.mock(BookingStorage.class);
+        approvedOverlapConstraint = Mockito.mock(ApprovedOverlapConstraint.class);
         itemStorage = Mockito.mock(ItemStorage.class);
         userStorage = Mockito.mock(UserStorage.class);
-        bookingService = new BookingServiceImpl(bookingStorage, userStorage, itemStorage);
+        when(userStorage.getReferenceById(anyLong()))
+                .thenAnswer(invocation -> User.builder().id(invocation.getArgument(0)).build());
+        ActorContext actorContext = new ActorContext(
+                new UserCache(userStorage, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1)), userStorage);
+        bookingService = new BookingServiceImpl(bookingStorage, actorContext, itemStorage,
+                new BookingTimelineCache(bookingStorage, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1)),
+                new CompletedBookingCache(bookingStorage, new SimpleMeterRegistry(), true, 100,
+                        Duration.ofMinutes(1)),
+                new JpaBookingListReader(bookingStorage), approvedOverlapConstraint);
     }
 
     @Test
@@ -221,13 +237,58 @@ class BookingServiceImplTest {
     }
 
     @Test
-    void shouldApproveBooking() {
+    void shouldGetExceptionCreateBookingOverlapsApproved() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(booking.toBuilder().build()));
+        when(itemStorage.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(item));
+        when(bookingStorage.findFirstByItemIdAndStatusAndStartDateBeforeOrderByStartDateDesc(anyLong(),
+                any(Status.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(booking.toBuilder()
+                        .startDate(startTime.minusHours(1))
+                        .endDate(startTime.plusHours(1))
+                        .status(Status.APPROVED)
+                        .build()));
+
+        final NotAvailableException exception = Assertions.assertThrows(
+                NotAvailableException.class,
+                () -> bookingService.create(2L, bookingDto)
+        );
+
+        assertEquals("Вещь уже забронирована на эти даты",
+                exception.getMessage());
+        verify(bookingStorage, times(1)).findFirstByItemIdAndStatusAndStartDateBeforeOrderByStartDateDesc(
+                1L, Status.APPROVED, endTime);
+        verify(bookingStorage, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void shouldCreateBookingAdjacentToApproved() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user));
+        when(itemStorage.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(item));
+        when(bookingStorage.findFirstByItemIdAndStatusAndStartDateBeforeOrderByStartDateDesc(anyLong(),
+                any(Status.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(booking.toBuilder()
+                        .startDate(startTime.minusHours(1))
+                        .endDate(startTime)
+                        .status(Status.APPROVED)
+                        .build()));
         when(bookingStorage.save(any(Booking.class)))
-                .thenReturn(booking.toBuilder().status(Status.APPROVED).build());
+                .thenReturn(booking);
+
+        bookingService.create(2L, bookingDto);
+
+        verify(bookingStorage, times(1)).save(any(Booking.class));
+    }
+
+    @Test
+    void shouldApproveBooking() {
+        when(bookingStorage.updateStatusIfWaiting(anyLong(), anyLong(), anyString()))
+                .thenReturn(1);
+        when(bookingStorage.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(booking.toBuilder().status(Status.APPROVED).build()));
 
         GetBookingDto getBookingDto = bookingService.approveBooking(1L, 1L, true);
 
@@ -238,19 +299,33 @@ class BookingServiceImplTest {
                 .hasFieldOrPropertyWithValue("status", Status.APPROVED)
                 .hasFieldOrPropertyWithValue("booker", booker)
                 .hasFieldOrPropertyWithValue("item", itemDto);
-        verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, times(1)).save(any(Booking.class));
+        verify(bookingStorage, times(1)).updateStatusIfWaiting(1L, 1L, "APPROVED");
         verify(bookingStorage, times(1)).findById(anyLong());
+        verify(userStorage, never()).findById(anyLong());
+        verify(itemStorage, times(1)).lockByBookingId(1L);
+    }
+
+    @Test
+    void shouldApproveBookingWithoutLockWhenConstraintPresent() {
+        when(approvedOverlapConstraint.isPresent())
+                .thenReturn(true);
+        when(bookingStorage.updateStatusIfWaiting(anyLong(), anyLong(), anyString()))
+                .thenReturn(1);
+        when(bookingStorage.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(booking.toBuilder().status(Status.APPROVED).build()));
+
+        bookingService.approveBooking(1L, 1L, true);
+
+        verify(bookingStorage, times(1)).updateStatusIfWaiting(1L, 1L, "APPROVED");
+        verify(itemStorage, never()).lockByBookingId(anyLong());
     }
 
     @Test
     void shouldRejectBooking() {
-        when(userStorage.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(user));
+        when(bookingStorage.updateStatusIfWaiting(anyLong(), anyLong(), anyString()))
+                .thenReturn(1);
         when(bookingStorage.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(booking.toBuilder().build()));
-        when(bookingStorage.save(any(Booking.class)))
-                .thenReturn(booking.toBuilder().status(Status.REJECTED).build());
+                .thenReturn(Optional.ofNullable(booking.toBuilder().status(Status.REJECTED).build()));
 
         GetBookingDto getBookingDto = bookingService.approveBooking(1L, 1L, false);
 
@@ -261,19 +336,65 @@ class BookingServiceImplTest {
                 .hasFieldOrPropertyWithValue("status", Status.REJECTED)
                 .hasFieldOrPropertyWithValue("booker", booker)
                 .hasFieldOrPropertyWithValue("item", itemDto);
-        verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, times(1)).save(any(Booking.class));
+        verify(bookingStorage, times(1)).updateStatusIfWaiting(1L, 1L, "REJECTED");
         verify(bookingStorage, times(1)).findById(anyLong());
+        verify(userStorage, never()).findById(anyLong());
     }
 
     @Test
-    void shouldGetExceptionWithApproveBookingNoFoundUser() {
+    void shouldGetExceptionWithApproveBookingOverlapsApproved() {
+        when(bookingStorage.updateStatusIfWaiting(anyLong(), anyLong(), anyString()))
+                .thenReturn(0);
         when(userStorage.findById(anyLong()))
-                .thenReturn(Optional.empty());
+                .thenReturn(Optional.of(user));
         when(bookingStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(booking.toBuilder().build()));
-        when(bookingStorage.save(any(Booking.class)))
-                .thenReturn(booking);
+
+        final NotAvailableException exception = Assertions.assertThrows(
+                NotAvailableException.class,
+                () -> bookingService.approveBooking(1L, 1L, true)
+        );
+
+        assertEquals("Вещь уже забронирована на эти даты",
+                exception.getMessage());
+    }
+
+    @Test
+    void shouldGetExceptionWithApproveBookingViolatingExclusionConstraint() {
+        when(bookingStorage.updateStatusIfWaiting(anyLong(), anyLong(), anyString()))
+                .thenThrow(new DataIntegrityViolationException("error"));
+
+        final NotAvailableException exception = Assertions.assertThrows(
+                NotAvailableException.class,
+                () -> bookingService.approveBooking(1L, 1L, true)
+        );
+
+        assertEquals("Вещь уже забронирована на эти даты",
+                exception.getMessage());
+        verify(bookingStorage, never()).findById(anyLong());
+    }
+
+    @Test
+    void shouldGetExceptionWithGetUserBookingCountsNotFoundUser() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.empty());
+
+        final NotFoundException exception = Assertions.assertThrows(
+                NotFoundException.class,
+                () -> bookingService.getUserBookingCounts(1L)
+        );
+
+        assertEquals("Пользователь не найден",
+                exception.getMessage());
+        verify(bookingStorage, never()).countByBookerId(anyLong(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldGetExceptionWithApproveBookingNoFoundUser() {
+        when(bookingStorage.updateStatusIfWaiting(anyLong(), anyLong(), anyString()))
+                .thenReturn(0);
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.empty());
 
         final NotFoundException exception = Assertions.assertThrows(
                 NotFoundException.class,
@@ -283,18 +404,17 @@ class BookingServiceImplTest {
         assertEquals("Пользователь не найден",
                 exception.getMessage());
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, never()).save(any(Booking.class));
         verify(bookingStorage, never()).findById(anyLong());
     }
 
     @Test
     void shouldGetExceptionWithApproveBookingNoFoundBooking() {
+        when(bookingStorage.updateStatusIfWaiting(anyLong(), anyLong(), anyString()))
+                .thenReturn(0);
         when(userStorage.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(user));
+                .thenReturn(Optional.of(user));
         when(bookingStorage.findById(anyLong()))
                 .thenReturn(Optional.empty());
-        when(bookingStorage.save(any(Booking.class)))
-                .thenReturn(booking);
 
         final NotFoundException exception = Assertions.assertThrows(
                 NotFoundException.class,
@@ -304,18 +424,17 @@ class BookingServiceImplTest {
         assertEquals("Бронирование не найдено",
                 exception.getMessage());
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, never()).save(any(Booking.class));
         verify(bookingStorage, times(1)).findById(anyLong());
     }
 
     @Test
     void shouldGetExceptionWithApproveBookingNoFoundOwner() {
+        when(bookingStorage.updateStatusIfWaiting(anyLong(), anyLong(), anyString()))
+                .thenReturn(0);
         when(userStorage.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(user));
+                .thenReturn(Optional.of(user));
         when(bookingStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(booking.toBuilder().build()));
-        when(bookingStorage.save(any(Booking.class)))
-                .thenReturn(booking);
 
         final NotFoundException exception = Assertions.assertThrows(
                 NotFoundException.class,
@@ -325,18 +444,17 @@ class BookingServiceImplTest {
         assertEquals("Бронирование не найдено",
                 exception.getMessage());
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, never()).save(any(Booking.class));
         verify(bookingStorage, times(1)).findById(anyLong());
     }
 
     @Test
     void shouldGetExceptionWithApproveBookingNotAvailableAlreadyApproved() {
+        when(bookingStorage.updateStatusIfWaiting(anyLong(), anyLong(), anyString()))
+                .thenReturn(0);
         when(userStorage.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(user));
+                .thenReturn(Optional.of(user));
         when(bookingStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(booking.toBuilder().status(Status.APPROVED).build()));
-        when(bookingStorage.save(any(Booking.class)))
-                .thenReturn(booking);
 
         final NotAvailableException exception = Assertions.assertThrows(
                 NotAvailableException.class,
@@ -346,10 +464,27 @@ class BookingServiceImplTest {
         assertEquals("Бронирование уже подтверждено",
                 exception.getMessage());
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, never()).save(any(Booking.class));
         verify(bookingStorage, times(1)).findById(anyLong());
     }
 
+    @Test
+    void shouldGetExceptionWithRejectBookingNotAvailableAlreadyRejected() {
+        when(bookingStorage.updateStatusIfWaiting(anyLong(), anyLong(), anyString()))
+                .thenReturn(0);
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(bookingStorage.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(booking.toBuilder().status(Status.REJECTED).build()));
+
+        final NotAvailableException exception = Assertions.assertThrows(
+                NotAvailableException.class,
+                () -> bookingService.approveBooking(1L, 1L, false)
+        );
+
+        assertEquals("Бронирование уже отклонено",
+                exception.getMessage());
+    }
+
     @Test
     void shouldGetBookingByUserOwnerItem() {
         when(userStorage.findById(anyLong()))
@@ -448,239 +583,239 @@ class BookingServiceImplTest {
     void shouldGetUserBookingsWithAll() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findAllByBooker(any(User.class), any(Pageable.class)))
+        when(bookingStorage.findAllByBooker(any(User.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
                 .thenReturn(listOfBookings);
 
-        List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "aLl", 1, 5);
+        List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "aLl", 1, 5, null);
 
         assertThat(bookings)
                 .isNotEmpty()
                 .hasSize(20)
                 .satisfies(list -> assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 2L));
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, times(1)).findAllByBooker(any(User.class), any(Pageable.class));
+        verify(bookingStorage, times(1)).findAllByBooker(any(User.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     void shouldGetExceptionWithGetUserBookingsWithAll() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.empty());
-        when(bookingStorage.findAllByBooker(any(User.class), any(Pageable.class)))
+        when(bookingStorage.findAllByBooker(any(User.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
                 .thenReturn(listOfBookings);
 
         final NotFoundException exception = Assertions.assertThrows(
                 NotFoundException.class,
-                () -> bookingService.getUserBookings(1L, "aLl", 1, 5)
+                () -> bookingService.getUserBookings(1L, "aLl", 1, 5, null)
         );
 
         assertEquals("Пользователь не найден",
                 exception.getMessage());
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, never()).findAllByBooker(any(User.class), any(Pageable.class));
+        verify(bookingStorage, never()).findAllByBooker(any(User.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     void shouldGetUserBookingsWithCurrent() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findAllByBookerAndCurrent(any(User.class), any(LocalDateTime.class), any(Pageable.class)))
+        when(bookingStorage.findAllByBookerAndCurrent(any(User.class), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
                 .thenReturn(listOfBookings);
 
-        List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "cuRRenT", 1, 5);
+        List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "cuRRenT", 1, 5, null);
 
         assertThat(bookings)
                 .isNotEmpty()
                 .hasSize(20)
                 .satisfies(list -> assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 2L));
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, times(1)).findAllByBookerAndCurrent(any(User.class), any(LocalDateTime.class), any(Pageable.class));
+        verify(bookingStorage, times(1)).findAllByBookerAndCurrent(any(User.class), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     void shouldGetUserBookingsWithPast() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findAllByBookerAndPast(any(User.class), any(LocalDateTime.class), any(Pageable.class)))
+        when(bookingStorage.findAllByBookerAndPast(any(User.class), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
                 .thenReturn(listOfBookings);
 
-        List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "pAST", 1, 5);
+        List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "pAST", 1, 5, null);
 
         assertThat(bookings)
                 .isNotEmpty()
                 .hasSize(20)
                 .satisfies(list -> assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 2L));
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, times(1)).findAllByBookerAndPast(any(User.class), any(LocalDateTime.class), any(Pageable.class));
+        verify(bookingStorage, times(1)).findAllByBookerAndPast(any(User.class), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     void shouldGetUserBookingsWithFuture() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findAllByBookerAndFuture(any(User.class), any(LocalDateTime.class), any(Pageable.class)))
+        when(bookingStorage.findAllByBookerAndFuture(any(User.class), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
                 .thenReturn(listOfBookings);
 
-        List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "FUTURE", 1, 5);
+        List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "FUTURE", 1, 5, null);
 
         assertThat(bookings)
                 .isNotEmpty()
                 .hasSize(20)
                 .satisfies(list -> assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 2L));
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, times(1)).findAllByBookerAndFuture(any(User.class), any(LocalDateTime.class), any(Pageable.class));
+        verify(bookingStorage, times(1)).findAllByBookerAndFuture(any(User.class), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     void shouldGetUserBookingsWithWaiting() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findAllByBookerAndStatus(any(User.class), any(Status.class), any(Pageable.class)))
+        when(bookingStorage.findAllByBookerAndStatus(any(User.class), any(Status.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
                 .thenReturn(listOfBookings);
 
-        List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "WAITING", 1, 5);
+        List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "WAITING", 1, 5, null);
 
         assertThat(bookings)
                 .isNotEmpty()
                 .hasSize(20)
                 .satisfies(list -> assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 2L));
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, times(1)).findAllByBookerAndStatus(any(User.class), any(Status.class), any(Pageable.class));
+        verify(bookingStorage, times(1)).findAllByBookerAndStatus(any(User.class), any(Status.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     void shouldGetUserBookingsWithReject() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findAllByBookerAndStatus(any(User.class), any(Status.class), any(Pageable.class)))
+        when(bookingStorage.findAllByBookerAndStatus(any(User.class), any(Status.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
                 .thenReturn(listOfBookings);
 
-        List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "rejected", 1, 5);
+        List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "rejected", 1, 5, null);
 
         assertThat(bookings)
                 .isNotEmpty()
                 .hasSize(20)
                 .satisfies(list -> assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 2L));
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, times(1)).findAllByBookerAndStatus(any(User.class), any(Status.class), any(Pageable.class));
+        verify(bookingStorage, times(1)).findAllByBookerAndStatus(any(User.class), any(Status.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     void shouldGetOwnerBookingsWithAll() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findAllByItemOwner(any(User.class), any(Pageable.class)))
+        when(bookingStorage.findAllByItemOwner(any(User.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
                 .thenReturn(listOfBookings);
 
-        List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "aLl", 1, 5);
+        List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "aLl", 1, 5, null);
 
         assertThat(bookings)
                 .isNotEmpty()
                 .hasSize(20)
                 .satisfies(list -> assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 2L));
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, times(1)).findAllByItemOwner(any(User.class), any(Pageable.class));
+        verify(bookingStorage, times(1)).findAllByItemOwner(any(User.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     void shouldGetExceptionWithGetOwnerBookingsWithAll() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.empty());
-        when(bookingStorage.findAllByBooker(any(User.class), any(Pageable.class)))
+        when(bookingStorage.findAllByBooker(any(User.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
                 .thenReturn(listOfBookings);
 
         final NotFoundException exception = Assertions.assertThrows(
                 NotFoundException.class,
-                () -> bookingService.getOwnerBookings(1L, "aLl", 1, 5)
+                () -> bookingService.getOwnerBookings(1L, "aLl", 1, 5, null)
         );
 
         assertEquals("Пользователь не найден",
                 exception.getMessage());
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, never()).findAllByBooker(any(User.class), any(Pageable.class));
+        verify(bookingStorage, never()).findAllByBooker(any(User.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     void shouldGetOwnerBookingsWithCurrent() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findAllByItemOwnerAndCurrent(any(User.class), any(LocalDateTime.class), any(Pageable.class)))
+        when(bookingStorage.findAllByItemOwnerAndCurrent(any(User.class), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
                 .thenReturn(listOfBookings);
 
-        List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "cuRRenT", 1, 5);
+        List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "cuRRenT", 1, 5, null);
 
         assertThat(bookings)
                 .isNotEmpty()
                 .hasSize(20)
                 .satisfies(list -> assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 2L));
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, times(1)).findAllByItemOwnerAndCurrent(any(User.class), any(LocalDateTime.class), any(Pageable.class));
+        verify(bookingStorage, times(1)).findAllByItemOwnerAndCurrent(any(User.class), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     void shouldGetOwnerBookingsWithPast() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findAllByItemOwnerAndPast(any(User.class), any(LocalDateTime.class), any(Pageable.class)))
+        when(bookingStorage.findAllByItemOwnerAndPast(any(User.class), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
                 .thenReturn(listOfBookings);
 
-        List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "pAST", 1, 5);
+        List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "pAST", 1, 5, null);
 
         assertThat(bookings)
                 .isNotEmpty()
                 .hasSize(20)
                 .satisfies(list -> assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 2L));
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, times(1)).findAllByItemOwnerAndPast(any(User.class), any(LocalDateTime.class), any(Pageable.class));
+        verify(bookingStorage, times(1)).findAllByItemOwnerAndPast(any(User.class), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     void shouldGetOwnerBookingsWithFuture() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findAllByItemOwnerAndFuture(any(User.class), any(LocalDateTime.class), any(Pageable.class)))
+        when(bookingStorage.findAllByItemOwnerAndFuture(any(User.class), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
                 .thenReturn(listOfBookings);
 
-        List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "FUTURE", 1, 5);
+        List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "FUTURE", 1, 5, null);
 
         assertThat(bookings)
                 .isNotEmpty()
                 .hasSize(20)
                 .satisfies(list -> assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 2L));
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, times(1)).findAllByItemOwnerAndFuture(any(User.class), any(LocalDateTime.class), any(Pageable.class));
+        verify(bookingStorage, times(1)).findAllByItemOwnerAndFuture(any(User.class), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     void shouldGetOwnerBookingsWithWaiting() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findAllByItemOwnerAndStatus(any(User.class), any(Status.class), any(Pageable.class)))
+        when(bookingStorage.findAllByItemOwnerAndStatus(any(User.class), any(Status.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
                 .thenReturn(listOfBookings);
 
-        List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "WAITING", 1, 5);
+        List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "WAITING", 1, 5, null);
 
         assertThat(bookings)
                 .isNotEmpty()
                 .hasSize(20)
                 .satisfies(list -> assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 2L));
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, times(1)).findAllByItemOwnerAndStatus(any(User.class), any(Status.class), any(Pageable.class));
+        verify(bookingStorage, times(1)).findAllByItemOwnerAndStatus(any(User.class), any(Status.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     void shouldGetOwnerBookingsWithReject() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findAllByItemOwnerAndStatus(any(User.class), any(Status.class), any(Pageable.class)))
+        when(bookingStorage.findAllByItemOwnerAndStatus(any(User.class), any(Status.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
                 .thenReturn(listOfBookings);
 
-        List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "rejected", 1, 5);
+        List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "rejected", 1, 5, null);
 
         assertThat(bookings)
                 .isNotEmpty()
                 .hasSize(20)
                 .satisfies(list -> assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 2L));
         verify(userStorage, times(1)).findById(anyLong());
-        verify(bookingStorage, times(1)).findAllByItemOwnerAndStatus(any(User.class), any(Status.class), any(Pageable.class));
+        verify(bookingStorage, times(1)).findAllByItemOwnerAndStatus(any(User.class), any(Status.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BookingTimelineTest {
+    private final BookingTimeline timeline = BookingTimeline.EMPTY
+            .with(50, 60)
+            .with(10, 20)
+            .with(30, 40);
+
+    @Test
+    void shouldReturnGapsBetweenIntervals() {
+        assertThat(timeline.freeWindows(0, 100))
+                .containsExactly(new long[]{0, 10}, new long[]{20, 30}, new long[]{40, 50}, new long[]{60, 100});
+    }
+
+    @Test
+    void shouldClipGapsToRequestedRange() {
+        assertThat(timeline.freeWindows(15, 35)).containsExactly(new long[]{20, 30});
+        assertThat(timeline.freeWindows(20, 30)).containsExactly(new long[]{20, 30});
+        assertThat(timeline.freeWindows(31, 39)).isEmpty();
+        assertThat(timeline.freeWindows(70, 80)).containsExactly(new long[]{70, 80});
+    }
+
+    @Test
+    void shouldReturnWholeRangeWhenEmpty() {
+        assertThat(BookingTimeline.EMPTY.freeWindows(0, 10)).containsExactly(new long[]{0, 10});
+    }
+
+    @Test
+    void shouldIgnoreRepeatedAdd() {
+        assertSame(timeline, timeline.with(30, 40));
+        assertEquals(3, timeline.size());
+    }
+
+    @Test
+    void shouldKeepOriginalUnchanged() {
+        timeline.with(70, 80);
+
+        assertEquals(3, timeline.size());
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CompletedBookingCacheTest {
+    private final BookingStorage bookingStorage = Mockito.mock(BookingStorage.class);
+
+    @Test
+    void shouldRememberCompletedBooking() {
+        CompletedBookingCache cache = cache(true);
+        when(bookingStorage.existsByItemIdAndBookerIdAndStatusAndEndDateBefore(eq(1L), eq(2L),
+                eq(Status.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(true);
+
+        assertTrue(cache.hasCompletedBooking(1L, 2L));
+        assertTrue(cache.hasCompletedBooking(1L, 2L));
+        verify(bookingStorage, times(1)).existsByItemIdAndBookerIdAndStatusAndEndDateBefore(eq(1L), eq(2L),
+                eq(Status.APPROVED), any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldNotRememberMissingBooking() {
+        CompletedBookingCache cache = cache(true);
+
+        assertFalse(cache.hasCompletedBooking(1L, 2L));
+        assertFalse(cache.hasCompletedBooking(1L, 2L));
+        verify(bookingStorage, times(2)).existsByItemIdAndBookerIdAndStatusAndEndDateBefore(eq(1L), eq(2L),
+                eq(Status.APPROVED), any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldForgetPairOnStatusChangeAndUserDeletion() {
+        CompletedBookingCache cache = cache(true);
+        when(bookingStorage.existsByItemIdAndBookerIdAndStatusAndEndDateBefore(eq(1L), eq(2L),
+                eq(Status.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(true);
+
+        cache.hasCompletedBooking(1L, 2L);
+        cache.onStatusChanged(Booking.builder()
+                .item(Item.builder().id(1L).build())
+                .booker(User.builder().id(2L).build())
+                .build());
+        cache.hasCompletedBooking(1L, 2L);
+        cache.onUserDeleted();
+        cache.hasCompletedBooking(1L, 2L);
+
+        verify(bookingStorage, times(3)).existsByItemIdAndBookerIdAndStatusAndEndDateBefore(eq(1L), eq(2L),
+                eq(Status.APPROVED), any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldAlwaysQueryWhenDisabled() {
+        CompletedBookingCache cache = cache(false);
+        when(bookingStorage.existsByItemIdAndBookerIdAndStatusAndEndDateBefore(eq(1L), eq(2L),
+                eq(Status.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(true);
+
+        assertTrue(cache.hasCompletedBooking(1L, 2L));
+        assertTrue(cache.hasCompletedBooking(1L, 2L));
+        verify(bookingStorage, times(2)).existsByItemIdAndBookerIdAndStatusAndEndDateBefore(eq(1L), eq(2L),
+                eq(Status.APPROVED), any(LocalDateTime.class));
+    }
+
+    private CompletedBookingCache cache(boolean enabled) {
+        return new CompletedBookingCache(bookingStorage, new SimpleMeterRegistry(), enabled, 100, Duration.ofMinutes(1));
+    }
+}
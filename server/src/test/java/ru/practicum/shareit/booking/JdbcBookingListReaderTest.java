@@ -0,0 +1,111 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.dto.GetBookingDto;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.UserStorage;
+import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.OffsetBasedPageRequest;
+import ru.practicum.shareit.util.PageCursor;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.util.Constants.SORT_BY_START_DATE_DESC;
+
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class JdbcBookingListReaderTest {
+    private final BookingStorage bookingStorage;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final UserStorage userStorage;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+
+    @Test
+    void shouldReadSameBookingsAsJpa() {
+        long ownerId = userService.create(CreateUpdateUserDto.builder()
+                .name("owner")
+                .email("owner@ya.ru")
+                .build()).getId();
+        long bookerId = userService.create(CreateUpdateUserDto.builder()
+                .name("booker")
+                .email("booker@ya.ru")
+                .build()).getId();
+        CreateUpdateItemDto itemDto = CreateUpdateItemDto.builder()
+                .name("item")
+                .description("description")
+                .available(true)
+                .build();
+        long firstItemId = itemService.create(ownerId, itemDto).getId();
+        long secondItemId = itemService.create(ownerId, itemDto.toBuilder().name("item2").build()).getId();
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = -6; i < 6; i++) {
+            LocalDateTime start = now.plusDays(i * 2L);
+            GetBookingDto booking = bookingService.create(bookerId, CreateBookingDto.builder()
+                    .itemId(i % 2 == 0 ? firstItemId : secondItemId)
+                    .start(start)
+                    .end(start.plusDays(i == 0 ? 1 : 3))
+                    .build());
+            if (i % 3 != 0) {
+                bookingService.approveBooking(ownerId, booking.getId(), i % 3 == 1);
+            }
+        }
+
+        BookingListReader jpa = new JpaBookingListReader(bookingStorage);
+        BookingListReader jdbc = new JdbcBookingListReader(jdbcTemplate, entityManager);
+        User owner = userStorage.getReferenceById(ownerId);
+        User booker = userStorage.getReferenceById(bookerId);
+        LocalDateTime currentTime = now.plusHours(1);
+
+        for (State state : State.values()) {
+            for (OffsetBasedPageRequest pageable : List.of(
+                    new OffsetBasedPageRequest(0, 20, SORT_BY_START_DATE_DESC),
+                    new OffsetBasedPageRequest(1, 3, SORT_BY_START_DATE_DESC))) {
+                List<GetBookingDto> expected = jpa.findByBooker(booker, state, currentTime, PageCursor.FIRST_DESC,
+                        pageable);
+
+                assertThat(jdbc.findByBooker(booker, state, currentTime, PageCursor.FIRST_DESC, pageable))
+                        .as("booker, %s", state)
+                        .isEqualTo(expected);
+                assertThat(jdbc.findByItemOwner(owner, state, currentTime, PageCursor.FIRST_DESC, pageable))
+                        .as("owner, %s", state)
+                        .isEqualTo(jpa.findByItemOwner(owner, state, currentTime, PageCursor.FIRST_DESC, pageable));
+                assertThat(jdbc.findByItemOwner(booker, state, currentTime, PageCursor.FIRST_DESC, pageable))
+                        .isEmpty();
+
+                if (!expected.isEmpty()) {
+                    GetBookingDto last = expected.get(0);
+                    PageCursor cursor = PageCursor.of(last.getStart(), last.getId());
+
+                    assertThat(jdbc.findByBooker(booker, state, currentTime, cursor, pageable))
+                            .as("booker after cursor, %s", state)
+                            .isEqualTo(jpa.findByBooker(booker, state, currentTime, cursor, pageable));
+                }
+            }
+        }
+
+        assertThat(jdbc.findByBooker(booker, State.ALL, currentTime, PageCursor.FIRST_DESC,
+                new OffsetBasedPageRequest(0, 20, SORT_BY_START_DATE_DESC)))
+                .hasSize(12);
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.util.OffsetBasedPageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FullTextItemSearchEngineTest {
+    private ItemStorage itemStorage;
+    private ItemSearchEngine searchEngine;
+
+    @BeforeEach
+    void setUp() {
+        itemStorage = Mockito.mock(ItemStorage.class);
+        searchEngine = new FullTextItemSearchEngine(itemStorage);
+    }
+
+    @Test
+    void shouldBuildPrefixQueryFromWords() {
+        assertEquals("дрель:* & bosch:*", FullTextItemSearchEngine.toTsQuery("  Дрель, BOSCH! "));
+    }
+
+    @Test
+    void shouldSearchWithLimitAndOffset() {
+        Item item = Item.builder().id(1L).name("Дрель").build();
+        when(itemStorage.fullTextSearch(anyString(), anyInt(), anyLong()))
+                .thenReturn(List.of(item));
+
+        List<Long> ids = searchEngine.search("дрель", new OffsetBasedPageRequest(40, 20));
+
+        assertThat(ids).containsExactly(1L);
+        verify(itemStorage, times(1)).fullTextSearch("дрель:*", 20, 40L);
+    }
+
+    @Test
+    void shouldNotQueryWithoutWords() {
+        List<Long> ids = searchEngine.search("&|!", new OffsetBasedPageRequest(0, 20));
+
+        assertThat(ids).isEmpty();
+        verify(itemStorage, never()).fullTextSearch(anyString(), anyInt(), anyLong());
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
+import ru.practicum.shareit.item.dto.GetItemDto;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.CreateItemRequestDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
+import ru.practicum.shareit.util.OffsetBasedPageRequest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deletes users with committed items and checks that the in-memory search index forgets every item
+ * the database cascade removed. Runs on a database of its own, since the data is committed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:indexed-search",
+        "shareit.items.search.mode=index"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class IndexedItemSearchTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemRequestService requestService;
+    private final ItemSearchEngine itemSearchEngine;
+
+    @Test
+    void shouldForgetItemsDeletedWithRequester() {
+        long requesterId = createUser("requester@ya.ru");
+        long ownerId = createUser("owner@ya.ru");
+        long searcherId = createUser("searcher@ya.ru");
+        long requestId = requestService.createRequest(requesterId, CreateItemRequestDto.builder()
+                .description("нужна дрель")
+                .build()).getId();
+
+        long answerId = itemService.create(ownerId, item("дрель по запросу", requestId)).getId();
+        long otherId = itemService.create(ownerId, item("дрель своя", null)).getId();
+        long ownItemId = itemService.create(requesterId, item("дрель запросившего", null)).getId();
+
+        assertThat(itemSearchEngine.search("дрель", new OffsetBasedPageRequest(0, 10)))
+                .containsExactly(answerId, otherId, ownItemId);
+
+        userService.deleteById(requesterId);
+
+        assertThat(itemSearchEngine.search("дрель", new OffsetBasedPageRequest(0, 10)))
+                .containsExactly(otherId);
+        assertThat(itemService.search(searcherId, "дрель", 0, 1).stream()
+                .map(GetItemDto::getId)
+                .collect(Collectors.toList()))
+                .isEqualTo(List.of(otherId));
+    }
+
+    private long createUser(String email) {
+        return userService.create(CreateUpdateUserDto.builder()
+                .name("userName")
+                .email(email)
+                .build()).getId();
+    }
+
+    private static CreateUpdateItemDto item(String name, Long requestId) {
+        return CreateUpdateItemDto.builder()
+                .name(name)
+                .description("description")
+                .available(true)
+                .requestId(requestId)
+                .build();
+    }
+}
@@ -11,13 +11,17 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
 import ru.practicum.shareit.item.dto.GetCommentDto;
+import ru.practicum.shareit.item.dto.GetFreeWindowDto;
 import ru.practicum.shareit.item.dto.GetItemDto;
+import ru.practicum.shareit.user.ActorContext;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
@@ -44,6 +48,9 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ActorContext actorContext;
+
     private static CreateUpdateItemDto correctItem;
     private static CreateCommentDto correctComment;
     private static GetItemDto getItemDto;
@@ -107,6 +114,24 @@ class ItemControllerTest {
         verify(itemService, times(1)).create(anyLong(), any(CreateUpdateItemDto.class));
     }
 
+    @Test
+    void shouldCreateAllItems() throws Exception {
+        when(itemService.createAll(anyLong(), anyList()))
+                .thenReturn(List.of(getItemDto, getItemDto.toBuilder().id(2L).build()));
+
+        String jsonItems = objectMapper.writeValueAsString(List.of(correctItem, correctItem));
+
+        mockMvc.perform(post("/items/batch")
+                        .header(REQUEST_HEADER_USER_ID, "1")
+                        .content(jsonItems)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(getItemDto.getId()))
+                .andExpect(jsonPath("$[1].id").value(2L));
+        verify(itemService, times(1)).createAll(1L, List.of(correctItem, correctItem));
+    }
+
     @Test
     void shouldGetExceptionWithUpdateWithoutHeader() throws Exception {
         mockMvc.perform(patch("/items/1")
@@ -159,12 +184,12 @@ class ItemControllerTest {
         mockMvc.perform(get("/items")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
-        verify(itemService, never()).getAllByUserId(anyLong(), anyInt(), anyInt());
+        verify(itemService, never()).getAllByUserId(anyLong(), anyInt(), anyInt(), any());
     }
 
     @Test
     void shouldGetAllByUserId() throws Exception {
-        when(itemService.getAllByUserId(anyLong(), anyInt(), anyInt()))
+        when(itemService.getAllByUserId(anyLong(), anyInt(), anyInt(), any()))
                 .thenReturn(listOfItems);
 
         mockMvc.perform(get("/items")
@@ -177,7 +202,7 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.size()").value(20))
                 .andExpect(jsonPath("$.[0].id").value(2L))
                 .andExpect(jsonPath("$.[19].id").value(21L));
-        verify(itemService, times(1)).getAllByUserId(anyLong(), anyInt(), anyInt());
+        verify(itemService, times(1)).getAllByUserId(anyLong(), anyInt(), anyInt(), any());
     }
 
     @Test
@@ -252,4 +277,18 @@ class ItemControllerTest {
                 .andExpect(status().isOk());
         verify(itemService, times(1)).createComment(anyLong(), anyLong(), any(CreateCommentDto.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldGetAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(itemService.getAvailability(anyLong(), anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(GetFreeWindowDto.builder().start(from).end(from.plusDays(1)).build()));
+
+        mockMvc.perform(get("/items/1/availability?from=2030-01-01T00:00:00&to=2030-01-02T00:00:00")
+                        .header(REQUEST_HEADER_USER_ID, "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].start").value("2030-01-01T00:00:00"))
+                .andExpect(jsonPath("$[0].end").value("2030-01-02T00:00:00"));
+        verify(itemService, times(1)).getAvailability(1L, 1L, from, from.plusDays(1));
+    }
+}
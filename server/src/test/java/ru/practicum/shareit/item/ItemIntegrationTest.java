@@ -8,14 +8,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
+import ru.practicum.shareit.item.dto.GetFreeWindowDto;
 import ru.practicum.shareit.item.dto.GetItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
+import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -62,6 +68,21 @@ public class ItemIntegrationTest {
         assertNull(createUpdateItemDto.getRequestId());
     }
 
+    @Test
+    void shouldCreateAllItemsInBatches() {
+        userService.create(createUpdateUserDto);
+
+        List<GetItemDto> items = itemService.createAll(1L, Collections.nCopies(120, createUpdateItemDto));
+
+        Assertions.assertThat(items)
+                .extracting(GetItemDto::getId)
+                .doesNotContainNull()
+                .doesNotHaveDuplicates()
+                .hasSize(120);
+        assertThat(entityManager.createQuery("select count(i) from Item i where i.owner.id = 1", Long.class)
+                .getSingleResult(), equalTo(120L));
+    }
+
     @Test
     void shouldUpdateItem() {
         userService.create(createUpdateUserDto);
@@ -89,11 +110,11 @@ public class ItemIntegrationTest {
         userService.create(createUpdateUserDto);
         itemService.create(1L, createUpdateItemDto);
 
-        assertThat(itemService.getAllByUserId(1L, 0, 20).size(), equalTo(1));
+        assertThat(itemService.getAllByUserId(1L, 0, 20, null).size(), equalTo(1));
 
         itemService.delete(1L, 1L);
 
-        assertThat(itemService.getAllByUserId(1L, 0, 20).size(), equalTo(0));
+        assertThat(itemService.getAllByUserId(1L, 0, 20, null).size(), equalTo(0));
     }
 
     @Test
@@ -128,7 +149,7 @@ public class ItemIntegrationTest {
         itemService.create(1L, itemDto6);
         itemService.create(1L, itemDto7);
 
-        List<GetItemDto> items = itemService.getAllByUserId(1L,5, 2);
+        List<GetItemDto> items = itemService.getAllByUserId(1L,5, 2, null);
 
         Assertions.assertThat(items)
                 .isNotEmpty()
@@ -172,4 +193,70 @@ public class ItemIntegrationTest {
                     Assertions.assertThat(list.get(1)).hasFieldOrPropertyWithValue("name", itemDto6.getName());
                 });
     }
+
+    @Test
+    void shouldGetLastAndNextApprovedBookingsForOwner() {
+        userService.create(createUpdateUserDto);
+        userService.create(createUpdateUserDto.toBuilder().email("booker@ya.ru").build());
+        itemService.create(1L, createUpdateItemDto);
+        itemService.create(1L, createUpdateItemDto.toBuilder().name("name2").build());
+
+        LocalDateTime currentTime = LocalDateTime.now();
+        persistBooking(currentTime.minusDays(3), Status.APPROVED);
+        Booking lastBooking = persistBooking(currentTime.minusDays(2), Status.APPROVED);
+        persistBooking(currentTime.minusDays(1), Status.REJECTED);
+        Booking nextBooking = persistBooking(currentTime.plusDays(1), Status.APPROVED);
+        persistBooking(currentTime.plusDays(2), Status.APPROVED);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<GetItemDto> items = itemService.getAllByUserId(1L, 0, 20, null);
+
+        Assertions.assertThat(items).hasSize(2);
+        assertThat(items.get(0).getLastBooking().getId(), equalTo(lastBooking.getId()));
+        assertThat(items.get(0).getLastBooking().getBookerId(), equalTo(2L));
+        assertThat(items.get(0).getNextBooking().getId(), equalTo(nextBooking.getId()));
+        assertNull(items.get(1).getLastBooking());
+        assertNull(items.get(1).getNextBooking());
+
+        GetItemDto item = itemService.getOneById(1L, 1L);
+
+        assertThat(item.getLastBooking().getId(), equalTo(lastBooking.getId()));
+        assertThat(item.getNextBooking().getId(), equalTo(nextBooking.getId()));
+
+        GetItemDto itemForBooker = itemService.getOneById(2L, 1L);
+
+        assertNull(itemForBooker.getLastBooking());
+        assertNull(itemForBooker.getNextBooking());
+    }
+
+    @Test
+    void shouldGetAvailabilityFromApprovedBookings() {
+        userService.create(createUpdateUserDto);
+        userService.create(createUpdateUserDto.toBuilder().email("booker@ya.ru").build());
+        itemService.create(1L, createUpdateItemDto);
+
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        persistBooking(from.plusHours(2), Status.APPROVED);
+        persistBooking(from.plusHours(4), Status.WAITING);
+        entityManager.flush();
+
+        List<GetFreeWindowDto> windows = itemService.getAvailability(2L, 1L, from, from.plusHours(6));
+
+        Assertions.assertThat(windows).containsExactly(
+                GetFreeWindowDto.builder().start(from).end(from.plusHours(2)).build(),
+                GetFreeWindowDto.builder().start(from.plusHours(3)).end(from.plusHours(6)).build());
+    }
+
+    private Booking persistBooking(LocalDateTime start, Status status) {
+        Booking booking = Booking.builder()
+                .startDate(start)
+                .endDate(start.plusHours(1))
+                .item(entityManager.getReference(Item.class, 1L))
+                .booker(entityManager.getReference(User.class, 2L))
+                .status(status)
+                .build();
+        entityManager.persist(booking);
+        return booking;
+    }
 }
@@ -0,0 +1,145 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
+import ru.practicum.shareit.util.StatementRecorder;
+import ru.practicum.shareit.util.StatementRecorder.RecordedStatement;
+import ru.practicum.shareit.util.StatementRecorderConfiguration;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.REQUEST_HEADER_USER_ID;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(StatementRecorderConfiguration.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ItemQueryCountTest {
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final StatementRecorder statementRecorder;
+    private final UserService userService;
+    private final ItemService itemService;
+
+    @Test
+    void shouldUpdateItemWithConstantNumberOfStatements() throws Exception {
+        long ownerId = userService.create(CreateUpdateUserDto.builder().name("owner").email("owner@ya.ru").build())
+                .getId();
+        long bookerId = userService.create(CreateUpdateUserDto.builder().name("booker").email("booker@ya.ru").build())
+                .getId();
+        CreateUpdateItemDto itemDto = CreateUpdateItemDto.builder()
+                .name("name")
+                .description("description")
+                .available(true)
+                .build();
+        long quietItemId = itemService.create(ownerId, itemDto).getId();
+        long busyItemId = itemService.create(ownerId, itemDto).getId();
+        entityManager.flush();
+        seedHistory(busyItemId, bookerId, 500);
+
+        List<RecordedStatement> quietStatements = patchName(ownerId, quietItemId);
+        List<RecordedStatement> busyStatements = patchName(ownerId, busyItemId);
+
+        assertThat(busyStatements).hasSameSizeAs(quietStatements);
+        assertThat(busyStatements)
+                .filteredOn(statement -> statement.getSql().toLowerCase(Locale.ROOT).startsWith("update"))
+                .singleElement()
+                .satisfies(statement -> assertThat(statement.getSql().toLowerCase(Locale.ROOT))
+                        .contains("name=?")
+                        .doesNotContain("description")
+                        .doesNotContain("is_available"));
+    }
+
+    @Test
+    void shouldCreateItemsInBatches() throws Exception {
+        long ownerId = userService.create(CreateUpdateUserDto.builder().name("owner").email("owner@ya.ru").build())
+                .getId();
+        List<CreateUpdateItemDto> itemDtos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            itemDtos.add(CreateUpdateItemDto.builder()
+                    .name("name" + i)
+                    .description("description")
+                    .available(true)
+                    .build());
+        }
+
+        statementRecorder.start();
+        mockMvc.perform(post("/items/batch")
+                        .header(REQUEST_HEADER_USER_ID, ownerId)
+                        .content(objectMapper.writeValueAsString(itemDtos))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(120));
+        entityManager.flush();
+        List<RecordedStatement> statements = statementRecorder.stop();
+
+        assertThat(statements)
+                .filteredOn(statement -> statement.getSql().toLowerCase(Locale.ROOT).startsWith("insert into"))
+                .hasSize(3);
+        assertThat(statements)
+                .filteredOn(statement -> statement.getSql().toLowerCase(Locale.ROOT).contains("items_seq"))
+                .hasSizeBetween(1, 3);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from items where owner_id = ?", Long.class, ownerId))
+                .isEqualTo(120L);
+    }
+
+    private List<RecordedStatement> patchName(long ownerId, long itemId) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+
+        statementRecorder.start();
+        mockMvc.perform(patch("/items/" + itemId)
+                        .header(REQUEST_HEADER_USER_ID, ownerId)
+                        .content("{\"name\": \"new name\"}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("new name"));
+        entityManager.flush();
+        return statementRecorder.stop();
+    }
+
+    private void seedHistory(long itemId, long bookerId, int size) {
+        LocalDateTime start = LocalDateTime.now().minusYears(5);
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            bookings.add(new Object[]{Timestamp.valueOf(start.plusDays(i)), Timestamp.valueOf(start.plusDays(i + 1)),
+                    itemId, bookerId, Status.APPROVED.name()});
+            comments.add(new Object[]{"comment" + i, Timestamp.valueOf(start.plusDays(i + 1)), itemId, bookerId});
+        }
+
+        jdbcTemplate.batchUpdate("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.batchUpdate("insert into comments (text, created, item_id, author_id) values (?, ?, ?, ?)",
+                comments);
+    }
+}
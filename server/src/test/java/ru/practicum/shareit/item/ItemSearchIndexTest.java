@@ -0,0 +1,54 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemSearchIndexTest {
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex();
+        index.put(3L, "Аккумуляторная дрель", "Дрель + аккумулятор");
+        index.put(1L, "Отвертка", "Аккумуляторная отвертка");
+        index.put(2L, "Клей Момент", "Тюбик суперклея");
+    }
+
+    @Test
+    void shouldFindSubstringIgnoringCaseInIdOrder() {
+        assertArrayEquals(new long[]{1L, 3L}, index.search("аккУМУЛЯТОР", 0, 10));
+        assertArrayEquals(new long[]{2L}, index.search("суперкле", 0, 10));
+        assertArrayEquals(new long[0], index.search("перфоратор", 0, 10));
+    }
+
+    @Test
+    void shouldNotMatchAcrossNameAndDescription() {
+        assertArrayEquals(new long[0], index.search("моменттюбик", 0, 10));
+    }
+
+    @Test
+    void shouldApplyOffsetAndLimit() {
+        assertArrayEquals(new long[]{1L}, index.search("акк", 0, 1));
+        assertArrayEquals(new long[]{3L}, index.search("акк", 1, 1));
+        assertArrayEquals(new long[0], index.search("акк", 2, 1));
+    }
+
+    @Test
+    void shouldSearchShortQueries() {
+        assertArrayEquals(new long[]{2L}, index.search("ей", 0, 10));
+    }
+
+    @Test
+    void shouldReindexAndRemoveItems() {
+        index.put(2L, "Клей ПВА", "Для бумаги");
+        index.remove(3L);
+
+        assertArrayEquals(new long[0], index.search("суперкле", 0, 10));
+        assertArrayEquals(new long[]{1L}, index.search("аккумулятор", 0, 10));
+        assertArrayEquals(new long[]{2L}, index.search("пва", 0, 10));
+        assertEquals(2, index.size());
+    }
+}
@@ -1,26 +1,36 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.BookingStorage;
+import ru.practicum.shareit.booking.BookingTimelineCache;
+import ru.practicum.shareit.booking.CompletedBookingCache;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.exception.MethodArgumentException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.NotValidDateException;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.CreateUpdateItemDto;
+import ru.practicum.shareit.item.dto.GetFreeWindowDto;
 import ru.practicum.shareit.item.dto.GetItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequestStorage;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.ActorContext;
+import ru.practicum.shareit.user.UserCache;
 import ru.practicum.shareit.user.UserStorage;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.BatchWriter;
 
+import javax.persistence.EntityManager;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -28,12 +38,16 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -44,9 +58,11 @@ import static ru.practicum.shareit.util.ServerConstants.orderByCreatedDesc;
 class ItemServiceImplTest {
     private static ItemService itemService;
     private static ItemStorage itemStorage;
+    private static BookingStorage bookingStorage;
     private static UserStorage userStorage;
     private static CommentStorage commentStorage;
     private static ItemRequestStorage requestStorage;
+    private static EntityManager entityManager;
 
     private static User user;
     private static ItemRequest request;
@@ -57,6 +73,7 @@ class ItemServiceImplTest {
     private static Item updatedItem;
     private static Comment comment;
     private static List<Item> listOfItems;
+    private static List<Long> listOfItemIds;
 
     @BeforeAll
     static void beforeAll() {
@@ -138,15 +155,29 @@ class ItemServiceImplTest {
         for (int i = 1; i < 21; i++) {
             listOfItems.add(item.toBuilder().id(i + 1L).build());
         }
+        listOfItemIds = listOfItems.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
     }
 
     @BeforeEach
     void setUp() {
         itemStorage = Mockito.mock(ItemStorage.class);
+        bookingStorage = Mockito.mock(BookingStorage.class);
         userStorage = Mockito.mock(UserStorage.class);
+        when(userStorage.getReferenceById(anyLong()))
+                .thenAnswer(invocation -> User.builder().id(invocation.getArgument(0)).build());
+        ActorContext actorContext = new ActorContext(
+                new UserCache(userStorage, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1)), userStorage);
         commentStorage = Mockito.mock(CommentStorage.class);
         requestStorage = Mockito.mock(ItemRequestStorage.class);
-        itemService = new ItemServiceImpl(itemStorage, userStorage, commentStorage, requestStorage);
+        entityManager = Mockito.mock(EntityManager.class);
+        itemService = new ItemServiceImpl(itemStorage, bookingStorage, actorContext, commentStorage, requestStorage,
+                new LikeItemSearchEngine(itemStorage),
+                new BookingTimelineCache(bookingStorage, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1)),
+                new CompletedBookingCache(bookingStorage, new SimpleMeterRegistry(), true, 100,
+                        Duration.ofMinutes(1)),
+                new BatchWriter(entityManager, 2));
     }
 
     @Test
@@ -224,6 +255,46 @@ class ItemServiceImplTest {
         verify(itemStorage, never()).save(any(Item.class));
     }
 
+    @Test
+    void shouldCreateAllItems() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(requestStorage.findAllById(anyCollection()))
+                .thenReturn(List.of(request));
+        when(itemStorage.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<GetItemDto> itemDtos = itemService.createAll(user.getId(),
+                List.of(createItemDto, createItemDto.toBuilder().requestId(null).build(), createItemDto));
+
+        assertThat(itemDtos)
+                .hasSize(3)
+                .extracting(GetItemDto::getRequestId)
+                .containsExactly(1L, null, 1L);
+        verify(userStorage, times(1)).findById(anyLong());
+        verify(requestStorage, times(1)).findAllById(Set.of(1L));
+        verify(itemStorage, times(2)).saveAll(anyList());
+        verify(itemStorage, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void shouldGetExceptionWithCreateAllWithNotFoundRequest() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(requestStorage.findAllById(anyCollection()))
+                .thenReturn(List.of());
+
+        final NotFoundException exception = Assertions.assertThrows(
+                NotFoundException.class,
+                () -> itemService.createAll(1L, List.of(createItemDto))
+        );
+
+        assertEquals("Запрос на вещь не найден",
+                exception.getMessage());
+        verify(itemStorage, never()).saveAll(anyList());
+    }
+
     @Test
     void shouldUpdateItem() {
         when(userStorage.findById(anyLong()))
@@ -232,7 +303,7 @@ class ItemServiceImplTest {
                 .thenReturn(Optional.of(request));
         when(commentStorage.findById(anyLong()))
                 .thenReturn(null);
-        when(itemStorage.findById(anyLong()))
+        when(itemStorage.findWithOwnerById(anyLong()))
                 .thenReturn(Optional.of(item.toBuilder().build()));
         when(itemStorage.save(updatedItem))
                 .thenReturn(updatedItem);
@@ -250,7 +321,7 @@ class ItemServiceImplTest {
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, times(1)).findById(anyLong());
+        verify(itemStorage, times(1)).findWithOwnerById(anyLong());
         verify(itemStorage, times(1)).save(any(Item.class));
     }
 
@@ -262,7 +333,7 @@ class ItemServiceImplTest {
                 .thenReturn(Optional.of(request));
         when(commentStorage.findById(anyLong()))
                 .thenReturn(null);
-        when(itemStorage.findById(anyLong()))
+        when(itemStorage.findWithOwnerById(anyLong()))
                 .thenReturn(Optional.of(item.toBuilder().build()));
         when(itemStorage.save(updatedItem))
                 .thenReturn(updatedItem);
@@ -277,7 +348,7 @@ class ItemServiceImplTest {
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, never()).findById(anyLong());
+        verify(itemStorage, never()).findWithOwnerById(anyLong());
         verify(itemStorage, never()).save(any(Item.class));
     }
 
@@ -289,7 +360,7 @@ class ItemServiceImplTest {
                 .thenReturn(Optional.of(request));
         when(commentStorage.findById(anyLong()))
                 .thenReturn(null);
-        when(itemStorage.findById(anyLong()))
+        when(itemStorage.findWithOwnerById(anyLong()))
                 .thenReturn(Optional.empty());
         when(itemStorage.save(updatedItem))
                 .thenReturn(updatedItem);
@@ -304,7 +375,7 @@ class ItemServiceImplTest {
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, times(1)).findById(anyLong());
+        verify(itemStorage, times(1)).findWithOwnerById(anyLong());
         verify(itemStorage, never()).save(any(Item.class));
     }
 
@@ -316,14 +387,14 @@ class ItemServiceImplTest {
                 .thenReturn(Optional.of(request));
         when(commentStorage.findById(anyLong()))
                 .thenReturn(null);
-        when(itemStorage.findById(anyLong()))
+        when(itemStorage.findWithOwnerById(anyLong()))
                 .thenReturn(Optional.of(item.toBuilder().build()));
         when(itemStorage.save(updatedItem))
                 .thenReturn(updatedItem);
 
         final NotFoundException exception = Assertions.assertThrows(
                 NotFoundException.class,
-                () -> itemService.update(1L, 1L, updateItemDto)
+                () -> itemService.update(2L, 1L, updateItemDto)
         );
 
         assertEquals("У пользователя с ID = 2 не найдена вещь с ID = 1",
@@ -331,7 +402,7 @@ class ItemServiceImplTest {
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, times(1)).findById(anyLong());
+        verify(itemStorage, times(1)).findWithOwnerById(anyLong());
         verify(itemStorage, never()).save(any(Item.class));
     }
 
@@ -343,17 +414,17 @@ class ItemServiceImplTest {
                 .thenReturn(Optional.of(request));
         when(commentStorage.findById(anyLong()))
                 .thenReturn(null);
-        when(itemStorage.findById(anyLong()))
-                .thenReturn(Optional.of(item.toBuilder().build()));
-        doNothing().when(itemStorage).deleteById(anyLong());
+        when(itemStorage.findOwnerIdById(anyLong()))
+                .thenReturn(Optional.of(item.getOwner().getId()));
+        doNothing().when(itemStorage).deleteItemById(anyLong());
 
         itemService.delete(user.getId(), item.getId());
 
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, times(1)).findById(anyLong());
-        verify(itemStorage, times(1)).deleteById(anyLong());
+        verify(itemStorage, times(1)).findOwnerIdById(anyLong());
+        verify(itemStorage, times(1)).deleteItemById(anyLong());
     }
 
     @Test
@@ -364,9 +435,9 @@ class ItemServiceImplTest {
                 .thenReturn(Optional.of(request));
         when(commentStorage.findById(anyLong()))
                 .thenReturn(null);
-        when(itemStorage.findById(anyLong()))
-                .thenReturn(Optional.of(item.toBuilder().build()));
-        doNothing().when(itemStorage).deleteById(anyLong());
+        when(itemStorage.findOwnerIdById(anyLong()))
+                .thenReturn(Optional.of(item.getOwner().getId()));
+        doNothing().when(itemStorage).deleteItemById(anyLong());
 
         final NotFoundException exception = Assertions.assertThrows(
                 NotFoundException.class,
@@ -378,8 +449,8 @@ class ItemServiceImplTest {
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, never()).findById(anyLong());
-        verify(itemStorage, never()).deleteById(anyLong());
+        verify(itemStorage, never()).findOwnerIdById(anyLong());
+        verify(itemStorage, never()).deleteItemById(anyLong());
     }
 
     @Test
@@ -390,9 +461,9 @@ class ItemServiceImplTest {
                 .thenReturn(Optional.of(request));
         when(commentStorage.findById(anyLong()))
                 .thenReturn(null);
-        when(itemStorage.findById(anyLong()))
+        when(itemStorage.findOwnerIdById(anyLong()))
                 .thenReturn(Optional.empty());
-        doNothing().when(itemStorage).deleteById(anyLong());
+        doNothing().when(itemStorage).deleteItemById(anyLong());
 
         final NotFoundException exception = Assertions.assertThrows(
                 NotFoundException.class,
@@ -404,8 +475,8 @@ class ItemServiceImplTest {
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, times(1)).findById(anyLong());
-        verify(itemStorage, never()).deleteById(anyLong());
+        verify(itemStorage, times(1)).findOwnerIdById(anyLong());
+        verify(itemStorage, never()).deleteItemById(anyLong());
     }
 
     @Test
@@ -416,13 +487,13 @@ class ItemServiceImplTest {
                 .thenReturn(Optional.of(request));
         when(commentStorage.findById(anyLong()))
                 .thenReturn(null);
-        when(itemStorage.findById(anyLong()))
-                .thenReturn(Optional.of(item.toBuilder().build()));
-        doNothing().when(itemStorage).deleteById(anyLong());
+        when(itemStorage.findOwnerIdById(anyLong()))
+                .thenReturn(Optional.of(item.getOwner().getId()));
+        doNothing().when(itemStorage).deleteItemById(anyLong());
 
         final NotFoundException exception = Assertions.assertThrows(
                 NotFoundException.class,
-                () -> itemService.delete(1L, 1L)
+                () -> itemService.delete(2L, 1L)
         );
 
         assertEquals("У пользователя с ID = 2 не найдена вещь с ID = 1",
@@ -430,8 +501,8 @@ class ItemServiceImplTest {
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, times(1)).findById(anyLong());
-        verify(itemStorage, never()).deleteById(anyLong());
+        verify(itemStorage, times(1)).findOwnerIdById(anyLong());
+        verify(itemStorage, never()).deleteItemById(anyLong());
     }
 
     @Test
@@ -506,10 +577,12 @@ class ItemServiceImplTest {
 
     @Test
     void shouldGetAllByUserIdByOwner() {
-        when(itemStorage.findAllByOwnerId(anyLong(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(listOfItems));
+        when(itemStorage.findIdsByOwnerId(anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(listOfItemIds);
+        when(itemStorage.findAllByIdIn(anyCollection()))
+                .thenReturn(listOfItems);
 
-        List<GetItemDto> items = itemService.getAllByUserId(1L, 7, 3);
+        List<GetItemDto> items = itemService.getAllByUserId(1L, 7, 3, null);
 
         assertThat(items)
                 .isNotEmpty()
@@ -522,30 +595,34 @@ class ItemServiceImplTest {
         verify(userStorage, never()).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, times(1)).findAllByOwnerId(anyLong(), any(Pageable.class));
+        verify(itemStorage, times(1)).findIdsByOwnerId(anyLong(), anyLong(), any(Pageable.class));
     }
 
     @Test
     void shouldGetAllByUserIdByNotOwner() {
-        when(itemStorage.findAllByOwnerId(anyLong(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(listOfItems));
+        when(itemStorage.findIdsByOwnerId(anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(listOfItemIds);
+        when(itemStorage.findAllByIdIn(anyCollection()))
+                .thenReturn(listOfItems);
 
-        List<GetItemDto> items = itemService.getAllByUserId(2L, 7, 3);
+        List<GetItemDto> items = itemService.getAllByUserId(2L, 7, 3, null);
 
         assertThat(items)
                 .isEmpty();
         verify(userStorage, never()).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, times(1)).findAllByOwnerId(anyLong(), any(Pageable.class));
+        verify(itemStorage, times(1)).findIdsByOwnerId(anyLong(), anyLong(), any(Pageable.class));
     }
 
     @Test
     void shouldSearch() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.of(user));
-        when(itemStorage.search(anyString(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(listOfItems));
+        when(itemStorage.searchIds(anyString(), any(Pageable.class)))
+                .thenReturn(listOfItemIds);
+        when(itemStorage.findAllByIdIn(anyCollection()))
+                .thenReturn(listOfItems);
 
         List<GetItemDto> items = itemService.search(1L, "text", 7, 3);
 
@@ -560,15 +637,17 @@ class ItemServiceImplTest {
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, times(1)).search(anyString(), any(Pageable.class));
+        verify(itemStorage, times(1)).searchIds(anyString(), any(Pageable.class));
     }
 
     @Test
     void shouldExceptionWithSearchNotFoundUser() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.empty());
-        when(itemStorage.search(anyString(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(listOfItems));
+        when(itemStorage.searchIds(anyString(), any(Pageable.class)))
+                .thenReturn(listOfItemIds);
+        when(itemStorage.findAllByIdIn(anyCollection()))
+                .thenReturn(listOfItems);
 
         final NotFoundException exception = Assertions.assertThrows(
                 NotFoundException.class,
@@ -580,24 +659,30 @@ class ItemServiceImplTest {
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, never()).search(anyString(), any(Pageable.class));
+        verify(itemStorage, never()).searchIds(anyString(), any(Pageable.class));
     }
 
     @Test
     void shouldCreateComment() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.of(user));
-        when(itemStorage.findById(anyLong()))
+        when(itemStorage.findWithOwnerById(anyLong()))
                 .thenReturn(Optional.of(item));
         when(commentStorage.save(any(Comment.class)))
                 .thenReturn(comment);
 
+        when(bookingStorage.existsByItemIdAndBookerIdAndStatusAndEndDateBefore(anyLong(), anyLong(),
+                any(Status.class), any(LocalDateTime.class)))
+                .thenReturn(true);
+
         itemService.createComment(1L, 1L, createCommentDto);
 
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, times(1)).findById(anyLong());
+        verify(itemStorage, times(1)).findWithOwnerById(anyLong());
+        verify(bookingStorage, times(1)).existsByItemIdAndBookerIdAndStatusAndEndDateBefore(eq(1L), eq(1L),
+                eq(Status.APPROVED), any(LocalDateTime.class));
         verify(commentStorage, times(1)).save(any(Comment.class));
     }
 
@@ -605,7 +690,7 @@ class ItemServiceImplTest {
     void shouldGetExceptionWithCreateCommentWithNotFoundUser() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.empty());
-        when(itemStorage.findById(anyLong()))
+        when(itemStorage.findWithOwnerById(anyLong()))
                 .thenReturn(Optional.of(item));
         when(commentStorage.save(any(Comment.class)))
                 .thenReturn(comment);
@@ -620,7 +705,7 @@ class ItemServiceImplTest {
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, never()).findById(anyLong());
+        verify(itemStorage, never()).findWithOwnerById(anyLong());
         verify(commentStorage, never()).save(any(Comment.class));
     }
 
@@ -628,7 +713,7 @@ class ItemServiceImplTest {
     void shouldGetExceptionWithCreateCommentWithNotFoundItem() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.of(user));
-        when(itemStorage.findById(anyLong()))
+        when(itemStorage.findWithOwnerById(anyLong()))
                 .thenReturn(Optional.empty());
         when(commentStorage.save(any(Comment.class)))
                 .thenReturn(comment);
@@ -643,7 +728,7 @@ class ItemServiceImplTest {
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, times(1)).findById(anyLong());
+        verify(itemStorage, times(1)).findWithOwnerById(anyLong());
         verify(commentStorage, never()).save(any(Comment.class));
     }
 
@@ -651,7 +736,7 @@ class ItemServiceImplTest {
     void shouldGetExceptionWithCreateCommentWithNotFoundBooking() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.of(user.toBuilder().id(2L).build()));
-        when(itemStorage.findById(anyLong()))
+        when(itemStorage.findWithOwnerById(anyLong()))
                 .thenReturn(Optional.of(item));
         when(commentStorage.save(any(Comment.class)))
                 .thenReturn(comment);
@@ -666,7 +751,80 @@ class ItemServiceImplTest {
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, times(1)).findById(anyLong());
+        verify(itemStorage, times(1)).findWithOwnerById(anyLong());
+        verify(bookingStorage, times(1)).existsByItemIdAndBookerIdAndStatusAndEndDateBefore(eq(1L), eq(2L),
+                eq(Status.APPROVED), any(LocalDateTime.class));
         verify(commentStorage, never()).save(any(Comment.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldGetAvailability() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(itemStorage.existsById(anyLong()))
+                .thenReturn(true);
+        when(bookingStorage.findAllByItemIdAndStatusAndEndDateAfterOrderByStartDate(anyLong(), any(Status.class),
+                any(LocalDateTime.class)))
+                .thenReturn(List.of(
+                        Booking.builder().startDate(from.plusDays(1)).endDate(from.plusDays(2)).build(),
+                        Booking.builder().startDate(from.plusDays(3)).endDate(from.plusDays(5)).build()));
+
+        List<GetFreeWindowDto> windows = itemService.getAvailability(1L, 1L, from, from.plusDays(4));
+        itemService.getAvailability(1L, 1L, from, from.plusDays(4));
+
+        assertThat(windows).containsExactly(
+                GetFreeWindowDto.builder().start(from).end(from.plusDays(1)).build(),
+                GetFreeWindowDto.builder().start(from.plusDays(2)).end(from.plusDays(3)).build());
+        verify(bookingStorage, times(1)).findAllByItemIdAndStatusAndEndDateAfterOrderByStartDate(eq(1L),
+                eq(Status.APPROVED), any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldGetNoAvailabilityInPast() {
+        LocalDateTime from = LocalDateTime.now().minusDays(2);
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(itemStorage.existsById(anyLong()))
+                .thenReturn(true);
+
+        List<GetFreeWindowDto> windows = itemService.getAvailability(1L, 1L, from, from.plusDays(1));
+
+        assertThat(windows).isEmpty();
+        verify(bookingStorage, never()).findAllByItemIdAndStatusAndEndDateAfterOrderByStartDate(anyLong(),
+                any(Status.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldGetExceptionWithGetAvailabilityWithWrongDates() {
+        LocalDateTime from = LocalDateTime.now();
+
+        final NotValidDateException exception = Assertions.assertThrows(
+                NotValidDateException.class,
+                () -> itemService.getAvailability(1L, 1L, from, from)
+        );
+
+        assertEquals("Дата начала должна быть раньше даты окончания",
+                exception.getMessage());
+        verify(bookingStorage, never()).findAllByItemIdAndStatusAndEndDateAfterOrderByStartDate(anyLong(),
+                any(Status.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldGetExceptionWithGetAvailabilityWithNotFoundItem() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(itemStorage.existsById(anyLong()))
+                .thenReturn(false);
+
+        final NotFoundException exception = Assertions.assertThrows(
+                NotFoundException.class,
+                () -> itemService.getAvailability(1L, 1L, LocalDateTime.now(), LocalDateTime.now().plusDays(1))
+        );
+
+        assertEquals("Вещь не найдена",
+                exception.getMessage());
+        verify(bookingStorage, never()).findAllByItemIdAndStatusAndEndDateAfterOrderByStartDate(anyLong(),
+                any(Status.class), any(LocalDateTime.class));
+    }
+}
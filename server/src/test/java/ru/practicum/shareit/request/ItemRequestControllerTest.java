@@ -10,6 +10,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 import ru.practicum.shareit.request.dto.GetItemRequestDto;
+import ru.practicum.shareit.user.ActorContext;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -38,6 +39,9 @@ class ItemRequestControllerTest {
     @MockBean
     private ItemRequestService requestService;
 
+    @MockBean
+    private ActorContext actorContext;
+
     private static CreateItemRequestDto correctRequest;
     private static GetItemRequestDto getItemRequestDto;
     private static List<GetItemRequestDto> listOfRequests;
@@ -121,7 +125,7 @@ class ItemRequestControllerTest {
 
     @Test
     void shouldGetAllRequests() throws Exception {
-        when(requestService.getAllRequests(anyLong(), anyInt(), anyInt()))
+        when(requestService.getAllRequests(anyLong(), anyInt(), anyInt(), any()))
                 .thenReturn(listOfRequests);
 
         mockMvc.perform(get("/requests/all")
@@ -134,7 +138,7 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$.size()").value(20))
                 .andExpect(jsonPath("$.[0].id").value(2L))
                 .andExpect(jsonPath("$.[19].id").value(21L));
-        verify(requestService, times(1)).getAllRequests(anyLong(), anyInt(), anyInt());
+        verify(requestService, times(1)).getAllRequests(anyLong(), anyInt(), anyInt(), any());
     }
 
     @Test
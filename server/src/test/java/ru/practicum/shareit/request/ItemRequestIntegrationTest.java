@@ -105,7 +105,7 @@ public class ItemRequestIntegrationTest {
         Thread.sleep(1000);
         requestService.createRequest(user.getId(), requestDto4);
 
-        List<GetItemRequestDto> requests = requestService.getAllRequests(2L, 1, 5);
+        List<GetItemRequestDto> requests = requestService.getAllRequests(2L, 1, 5, null);
         log.info(requests.toString());
 
         Assertions.assertThat(requests)
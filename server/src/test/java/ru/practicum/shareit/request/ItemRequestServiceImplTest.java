@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,18 +12,23 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 import ru.practicum.shareit.request.dto.GetItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.ActorContext;
+import ru.practicum.shareit.user.UserCache;
 import ru.practicum.shareit.user.UserStorage;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -71,8 +77,12 @@ class ItemRequestServiceImplTest {
     @BeforeEach
     void setUp() {
         userStorage = Mockito.mock(UserStorage.class);
+        when(userStorage.getReferenceById(anyLong()))
+                .thenAnswer(invocation -> User.builder().id(invocation.getArgument(0)).build());
+        ActorContext actorContext = new ActorContext(
+                new UserCache(userStorage, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1)), userStorage);
         requestStorage = Mockito.mock(ItemRequestStorage.class);
-        requestService = new ItemRequestServiceImpl(requestStorage, userStorage);
+        requestService = new ItemRequestServiceImpl(requestStorage, actorContext);
     }
 
     @Test
@@ -207,10 +217,12 @@ class ItemRequestServiceImplTest {
     void shouldGetAllRequests() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.of(user));
-        when(requestStorage.getAllByRequesterNot(any(User.class), any(Pageable.class)))
+        when(requestStorage.findIdsByRequesterNot(any(User.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
+                .thenReturn(listOfRequests.stream().map(ItemRequest::getId).collect(Collectors.toList()));
+        when(requestStorage.findAllByIdIn(anyCollection()))
                 .thenReturn(listOfRequests);
 
-        List<GetItemRequestDto> requests = requestService.getAllRequests(user.getId(), 7, 3);
+        List<GetItemRequestDto> requests = requestService.getAllRequests(user.getId(), 7, 3, null);
 
         assertThat(requests)
                 .isNotEmpty()
@@ -220,24 +232,25 @@ class ItemRequestServiceImplTest {
                         .hasFieldOrProperty("created")
                         .hasFieldOrPropertyWithValue("items", new ArrayList<>()));
         verify(userStorage, times(1)).findById(anyLong());
-        verify(requestStorage, times(1)).getAllByRequesterNot(any(User.class), any(Pageable.class));
+        verify(requestStorage, times(1)).findIdsByRequesterNot(any(User.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
+        verify(requestStorage, times(1)).findAllByIdIn(anyCollection());
     }
 
     @Test
     void shouldGetExceptionWithGetAllRequestsNotFoundUser() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.empty());
-        when(requestStorage.getAllByRequesterNot(any(User.class), any(Pageable.class)))
-                .thenReturn(listOfRequests);
+        when(requestStorage.findIdsByRequesterNot(any(User.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of());
 
         final NotFoundException exception = Assertions.assertThrows(
                 NotFoundException.class,
-                () -> requestService.getAllRequests(user.getId(), 7, 3)
+                () -> requestService.getAllRequests(user.getId(), 7, 3, null)
         );
 
         assertEquals("Пользователь не найден",
                 exception.getMessage());
         verify(userStorage, times(1)).findById(anyLong());
-        verify(requestStorage, never()).getAllByRequesterNot(any(User.class), any(Pageable.class));
+        verify(requestStorage, never()).findIdsByRequesterNot(any(User.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ActorContextTest {
+    private final UserStorage userStorage = Mockito.mock(UserStorage.class);
+    private final UserCache userCache = new UserCache(userStorage, new SimpleMeterRegistry(), 100,
+            Duration.ofMinutes(1));
+    private final ActorContext actorContext = new ActorContext(userCache, userStorage);
+    private final User user = User.builder()
+            .id(1L)
+            .name("userName")
+            .email("mail@ya.ru")
+            .build();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldResolveActorOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+
+        actorContext.check(1L);
+        userCache.evict(1L);
+        actorContext.getReference(1L);
+        User actor = actorContext.get(1L);
+
+        assertEquals("userName", actor.getName());
+        verify(userStorage, times(1)).findById(anyLong());
+        verify(userStorage, times(1)).getReferenceById(1L);
+    }
+
+    @Test
+    void shouldResolveActorOnEachCallOutsideRequest() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+
+        actorContext.check(1L);
+        userCache.evict(1L);
+        actorContext.check(1L);
+
+        verify(userStorage, times(2)).findById(anyLong());
+    }
+
+    @Test
+    void shouldGetExceptionWithNotFoundActor() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.empty());
+
+        final NotFoundException exception = Assertions.assertThrows(
+                NotFoundException.class,
+                () -> actorContext.getReference(1L)
+        );
+
+        assertEquals("Пользователь не найден", exception.getMessage());
+        verify(userStorage, never()).getReferenceById(anyLong());
+    }
+}
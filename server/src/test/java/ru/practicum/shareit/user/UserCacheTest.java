@@ -0,0 +1,67 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserCacheTest {
+    private final UserStorage userStorage = Mockito.mock(UserStorage.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserCache userCache = new UserCache(userStorage, meterRegistry, 100, Duration.ofMinutes(1));
+    private final User user = User.builder()
+            .id(1L)
+            .name("userName")
+            .email("mail@ya.ru")
+            .build();
+
+    @Test
+    void shouldLoadUserOnce() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+
+        assertTrue(userCache.existsById(1L));
+        User cached = userCache.findById(1L).orElseThrow();
+
+        assertEquals(user.getName(), cached.getName());
+        assertNotSame(user, cached);
+        verify(userStorage, times(1)).findById(anyLong());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void shouldNotCacheMissingUser() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.empty());
+
+        assertFalse(userCache.existsById(1L));
+        assertFalse(userCache.findById(1L).isPresent());
+        verify(userStorage, times(2)).findById(anyLong());
+    }
+
+    @Test
+    void shouldReloadEvictedUser() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+
+        userCache.findById(1L);
+        userCache.evict(1L);
+        userCache.findById(1L);
+
+        verify(userStorage, times(2)).findById(anyLong());
+    }
+}
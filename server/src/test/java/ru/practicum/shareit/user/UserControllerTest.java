@@ -16,6 +16,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
@@ -40,6 +41,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private ActorContext actorContext;
+
     private static CreateUpdateUserDto correctUser;
     private static List<GetUserDto> listOfUsers;
     private static GetUserDto getUserDto;
@@ -82,6 +86,24 @@ class UserControllerTest {
         verify(userService, times(1)).create(correctUser);
     }
 
+    @Test
+    void shouldCreateAllUsers() throws Exception {
+        when(userService.createAll(anyList()))
+                .thenReturn(List.of(getUserDto, getUserDto.toBuilder().id(2L).build()));
+
+        String jsonUsers = objectMapper.writeValueAsString(List.of(correctUser, correctUser));
+
+        mockMvc.perform(post("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonUsers))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(getUserDto.getId()))
+                .andExpect(jsonPath("$[1].id").value(2L));
+
+        verify(userService, times(1)).createAll(List.of(correctUser, correctUser));
+    }
+
     @Test
     void shouldUpdateUser() throws Exception {
         when(userService.update(anyLong(), any(CreateUpdateUserDto.class)))
@@ -124,7 +146,7 @@ class UserControllerTest {
 
     @Test
     void shouldGetAll() throws Exception {
-        when(userService.getAll(anyInt(), anyInt()))
+        when(userService.getAll(anyInt(), anyInt(), any()))
                 .thenReturn(listOfUsers);
         mockMvc.perform(get("/users")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -135,6 +157,6 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.size()").value(20))
                 .andExpect(jsonPath("$.[0].id").value(2L))
                 .andExpect(jsonPath("$.[19].id").value(21L));
-        verify(userService, times(1)).getAll(anyInt(), anyInt());
+        verify(userService, times(1)).getAll(anyInt(), anyInt(), any());
     }
 }
\ No newline at end of file
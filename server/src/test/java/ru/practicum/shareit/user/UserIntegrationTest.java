@@ -67,11 +67,11 @@ public class UserIntegrationTest {
     void shouldDeleteById() {
         userService.create(createUpdateUserDto);
 
-        assertThat(userService.getAll(0, 20).size(), equalTo(1));
+        assertThat(userService.getAll(0, 20, null).size(), equalTo(1));
 
         userService.deleteById(1L);
 
-        assertThat(userService.getAll(0, 20).size(), equalTo(0));
+        assertThat(userService.getAll(0, 20, null).size(), equalTo(0));
     }
 
     @Test
@@ -101,7 +101,7 @@ public class UserIntegrationTest {
         userService.create(userDto6);
         userService.create(userDto7);
 
-        List<GetUserDto> users = userService.getAll(2, 3);
+        List<GetUserDto> users = userService.getAll(2, 3, null);
 
         assertThat(users)
                 .isNotEmpty()
@@ -1,19 +1,31 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.BookingStorage;
+import ru.practicum.shareit.booking.BookingTimelineCache;
+import ru.practicum.shareit.booking.CompletedBookingCache;
 import ru.practicum.shareit.exception.AlreadyExistsException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemSearchEngine;
+import ru.practicum.shareit.item.ItemStorage;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.CreateUpdateUserDto;
 import ru.practicum.shareit.user.dto.GetUserDto;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.BatchWriter;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -21,8 +33,10 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -30,6 +44,9 @@ import static org.mockito.Mockito.when;
 class UserServiceImplTest {
     private static UserService userService;
     private static UserStorage userStorage;
+    private static ItemStorage itemStorage;
+    private static ItemSearchEngine itemSearchEngine;
+    private static org.hibernate.Cache hibernateCache;
     private static CreateUpdateUserDto createUserDto;
     private static CreateUpdateUserDto updateNameUserDto;
     private static CreateUpdateUserDto updateEmailUserDto;
@@ -73,12 +90,30 @@ class UserServiceImplTest {
     @BeforeEach
     void setUp() {
         userStorage = Mockito.mock(UserStorage.class);
-        userService = new UserServiceImpl(userStorage);
+        itemStorage = Mockito.mock(ItemStorage.class);
+        itemSearchEngine = Mockito.mock(ItemSearchEngine.class);
+        hibernateCache = Mockito.mock(org.hibernate.Cache.class);
+        Cache cache = Mockito.mock(Cache.class);
+        when(cache.unwrap(org.hibernate.Cache.class))
+                .thenReturn(hibernateCache);
+        EntityManagerFactory entityManagerFactory = Mockito.mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache())
+                .thenReturn(cache);
+        userService = new UserServiceImpl(userStorage,
+                new UserCache(userStorage, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1)),
+                itemStorage,
+                itemSearchEngine,
+                new BookingTimelineCache(Mockito.mock(BookingStorage.class), new SimpleMeterRegistry(),
+                        100, Duration.ofMinutes(1)),
+                new CompletedBookingCache(Mockito.mock(BookingStorage.class), new SimpleMeterRegistry(),
+                        true, 100, Duration.ofMinutes(1)),
+                entityManagerFactory,
+                new BatchWriter(Mockito.mock(EntityManager.class), 50));
     }
 
     @Test
     void shouldCreateUser() {
-        when(userStorage.save(any(User.class)))
+        when(userStorage.saveAndFlush(any(User.class)))
                 .thenReturn(getUser.toBuilder().build());
 
         GetUserDto userDto = userService.create(createUserDto);
@@ -87,12 +122,12 @@ class UserServiceImplTest {
                 .hasFieldOrPropertyWithValue("id", getUserDto.getId())
                 .hasFieldOrPropertyWithValue("name", getUserDto.getName())
                 .hasFieldOrPropertyWithValue("email", getUserDto.getEmail());
-        verify(userStorage, times(1)).save(any(User.class));
+        verify(userStorage, times(1)).saveAndFlush(any(User.class));
     }
 
     @Test
     void shouldGetAlreadyExistsExceptionCreateUser() {
-        when(userStorage.save(any(User.class)))
+        when(userStorage.saveAndFlush(any(User.class)))
                 .thenThrow(new DataIntegrityViolationException("error"));
 
         final AlreadyExistsException exception = Assertions.assertThrows(
@@ -102,7 +137,34 @@ class UserServiceImplTest {
 
         assertEquals(String.format("Пользователь с %s уже зарегистрирован", createUserDto.getEmail()),
                 exception.getMessage());
-        verify(userStorage, times(1)).save(any(User.class));
+        verify(userStorage, times(1)).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void shouldCreateAllUsers() {
+        when(userStorage.saveAll(anyList()))
+                .thenReturn(List.of(getUser.toBuilder().build(), getUser.toBuilder().id(2L).build()));
+
+        List<GetUserDto> userDtos = userService.createAll(List.of(createUserDto, createUserDto));
+
+        assertThat(userDtos)
+                .extracting(GetUserDto::getId)
+                .containsExactly(getUserDto.getId(), 2L);
+        verify(userStorage, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void shouldGetAlreadyExistsExceptionCreateAllUsers() {
+        when(userStorage.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("error"));
+
+        final AlreadyExistsException exception = Assertions.assertThrows(
+                AlreadyExistsException.class,
+                () -> userService.createAll(List.of(createUserDto))
+        );
+
+        assertEquals("Пользователь с одним из адресов уже зарегистрирован",
+                exception.getMessage());
     }
 
     @Test
@@ -188,11 +250,20 @@ class UserServiceImplTest {
     void shouldDeleteById() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.of(getUser.toBuilder().build()));
+        when(itemStorage.findAllIdsByOwnerIdOrRequesterId(anyLong()))
+                .thenReturn(List.of(2L, 3L));
         doNothing().when(userStorage).deleteById(anyLong());
 
         userService.deleteById(1L);
 
         verify(userStorage, times(1)).deleteById(anyLong());
+        verify(itemSearchEngine, times(1)).onItemDeleted(2L);
+        verify(itemSearchEngine, times(1)).onItemDeleted(3L);
+        verify(hibernateCache, times(1)).evictEntityData(Item.class);
+        verify(hibernateCache, times(1)).evictEntityData(ItemRequest.class);
+        verify(hibernateCache, never()).evictEntityData(User.class);
+        verify(hibernateCache, times(1)).evictQueryRegions();
+        verify(hibernateCache, never()).evictAllRegions();
     }
 
     @Test
@@ -227,9 +298,9 @@ class UserServiceImplTest {
     @Test
     void shouldGetAll() {
 
-        when(userStorage.findAll(any(Pageable.class)))
-                .thenReturn(new PageImpl<>(listOfUser));
-        List<GetUserDto> listUsers = userService.getAll(1, 5);
+        when(userStorage.findAllAfter(anyLong(), any(Pageable.class)))
+                .thenReturn(listOfUser);
+        List<GetUserDto> listUsers = userService.getAll(1, 5, null);
 
         assertThat(listUsers)
                 .isNotEmpty()
@@ -239,6 +310,6 @@ class UserServiceImplTest {
                     assertThat(list.get(0)).hasFieldOrPropertyWithValue("name", "name");
                     assertThat(list.get(0)).hasFieldOrPropertyWithValue("email", "email@ya.ru");
                 });
-        verify(userStorage, times(1)).findAll(any(Pageable.class));
+        verify(userStorage, times(1)).findAllAfter(anyLong(), any(Pageable.class));
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.MethodArgumentException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static ru.practicum.shareit.util.Constants.RESPONSE_HEADER_NEXT_CURSOR;
+
+class PageCursorTest {
+
+    @Test
+    void shouldDecodeEncodedCursor() {
+        LocalDateTime time = LocalDateTime.of(2023, 1, 2, 3, 4, 5, 123456000);
+
+        assertEquals(PageCursor.of(7L), PageCursor.decode(PageCursor.of(7L).encode()));
+        assertEquals(PageCursor.of(time, 7L), PageCursor.decodeTimed(PageCursor.of(time, 7L).encode()));
+    }
+
+    @Test
+    void shouldReturnNullWithoutCursor() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decodeTimed(""));
+    }
+
+    @Test
+    void shouldExceptionWithInvalidCursor() {
+        final MethodArgumentException exception = Assertions.assertThrows(
+                MethodArgumentException.class,
+                () -> PageCursor.decode("not a cursor")
+        );
+
+        assertEquals("Некорректный курсор", exception.getMessage());
+        Assertions.assertThrows(MethodArgumentException.class,
+                () -> PageCursor.decodeTimed(PageCursor.of(7L).encode()));
+        Assertions.assertThrows(MethodArgumentException.class,
+                () -> PageCursor.decode(PageCursor.of(LocalDateTime.now(), 7L).encode()));
+    }
+
+    @Test
+    void shouldAddNextCursorOnlyForFullPage() {
+        ResponseEntity<List<Long>> fullPage = PageCursor.toResponse(List.of(1L, 2L), 2, PageCursor::of);
+        ResponseEntity<List<Long>> lastPage = PageCursor.toResponse(List.of(3L), 2, PageCursor::of);
+
+        assertEquals(PageCursor.of(2L).encode(), fullPage.getHeaders().getFirst(RESPONSE_HEADER_NEXT_CURSOR));
+        assertFalse(lastPage.getHeaders().containsKey(RESPONSE_HEADER_NEXT_CURSOR));
+    }
+}
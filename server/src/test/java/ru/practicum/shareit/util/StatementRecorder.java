@@ -0,0 +1,110 @@
+package ru.practicum.shareit.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Wraps a {@link DataSource} and records executed prepared statements together with their parameters,
+ * so that tests can count queries or replay them (e.g. under {@code EXPLAIN}).
+ */
+public class StatementRecorder {
+    private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+    private volatile boolean recording;
+
+    public DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (method, args) -> {
+            Object result = method.invoke(dataSource, args);
+            return method.getName().equals("getConnection") ? wrap((Connection) result) : result;
+        });
+    }
+
+    public void start() {
+        statements.clear();
+        recording = true;
+    }
+
+    public List<RecordedStatement> stop() {
+        recording = false;
+        return new ArrayList<>(statements);
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = method.invoke(connection, args);
+            if (method.getName().equals("prepareStatement")) {
+                return wrap((PreparedStatement) result, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrap(PreparedStatement statement, String sql) {
+        List<ParameterSetter> setters = new ArrayList<>();
+
+        return proxy(PreparedStatement.class, statement, (method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                setters.add(new ParameterSetter(method, args));
+            } else if (name.startsWith("execute") && recording) {
+                statements.add(new RecordedStatement(sql, List.copyOf(setters)));
+            } else if (name.equals("clearParameters")) {
+                setters.clear();
+            }
+            return method.invoke(statement, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Invoker invoker) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return invoker.invoke(method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private interface Invoker {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+
+    @RequiredArgsConstructor
+    private static class ParameterSetter {
+        private final Method method;
+        private final Object[] args;
+    }
+
+    @RequiredArgsConstructor
+    public static class RecordedStatement {
+        @Getter
+        private final String sql;
+        private final List<ParameterSetter> setters;
+
+        /**
+         * Binds the recorded parameters to another statement prepared from the same (possibly prefixed) SQL.
+         */
+        public void bind(PreparedStatement statement) throws SQLException {
+            for (ParameterSetter setter : setters) {
+                try {
+                    setter.method.invoke(statement, setter.args);
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new SQLException("Не удалось установить параметр запроса", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes the application {@link DataSource} through a {@link StatementRecorder}; import it into a test
+ * to inspect the statements issued by the code under test.
+ */
+@TestConfiguration
+public class StatementRecorderConfiguration {
+
+    @Bean
+    static StatementRecorder statementRecorder() {
+        return new StatementRecorder();
+    }
+
+    @Bean
+    static BeanPostProcessor recordingDataSourcePostProcessor(StatementRecorder statementRecorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource && beanName.equals("dataSource")
+                        ? statementRecorder.wrap((DataSource) bean)
+                        : bean;
+            }
+        };
+    }
+}